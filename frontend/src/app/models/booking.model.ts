@@ -59,11 +59,13 @@ export enum BookingStatus {
 export interface CostCalculation {
   totalCost: number;
   breakdown: {
-    baseRate: string;
-    weightCharge: string;
+    rateCard: string;
+    destinationZone: string;
+    baseRate: number;
+    weightCharge: number;
     deliveryCharge: number;
     packingCharge: number;
-    adminFee: string;
+    adminFee: number;
     taxRate: string;
   };
 }
\ No newline at end of file
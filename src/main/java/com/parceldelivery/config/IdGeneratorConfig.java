@@ -0,0 +1,23 @@
+package com.parceldelivery.config;
+
+import com.parceldelivery.util.EntityIds;
+import com.parceldelivery.util.IdGenerator;
+import com.parceldelivery.util.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    // Must be unique per running instance so concurrent nodes never issue the same ID
+    @Value("${app.id.node-id:0}")
+    private long nodeId;
+
+    @Bean
+    public IdGenerator idGenerator() {
+        IdGenerator idGenerator = new SnowflakeIdGenerator(nodeId);
+        EntityIds.setGenerator(idGenerator);
+        return idGenerator;
+    }
+}
@@ -0,0 +1,66 @@
+package com.parceldelivery.config;
+
+import com.parceldelivery.util.QueryCountInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+// Flags requests whose handler issued more SQL statements than its budget, so N+1 regressions show up
+// in logs and the jpa.query.budget.exceeded metric instead of only as latency. This is the production
+// safety net; BookingQueryCountTest asserts the same budgets and fails the build.
+@Component
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.jpa.query-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jpa.query-budget.default:10}")
+    private int defaultBudget;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (enabled && handler instanceof HandlerMethod) {
+            QueryCountInspector.start();
+        }
+        return true;
+    }
+
+    // Streaming handlers hand the response to another thread; drop this thread's count so it does not leak
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountInspector.stop();
+    }
+
+    // Runs after @ResponseBody serialization, so lazy loads triggered while writing JSON are counted too
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!enabled || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        int statements = QueryCountInspector.stop();
+        if (statements < 0) {
+            return;
+        }
+
+        QueryBudget annotation = handlerMethod.getMethodAnnotation(QueryBudget.class);
+        int budget = annotation != null ? annotation.value() : defaultBudget;
+        if (statements > budget) {
+            String endpoint = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+            meterRegistry.counter("jpa.query.budget.exceeded", "endpoint", endpoint).increment();
+            logger.warn("{} {} issued {} SQL statements (budget {})",
+                request.getMethod(), request.getRequestURI(), statements, budget);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.parceldelivery.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Validated at startup: a zero or negative capacity or refill rate would silently break its buckets
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets untouched (and fully refilled) for this long are evicted
+    private long idleEvictionSeconds = 300;
+
+    // Evaluated in order; the first rule whose pattern matches the request path applies
+    @Valid
+    private List<Rule> rules = new ArrayList<>();
+
+    public enum KeyType {
+        IP, CUSTOMER
+    }
+
+    public static class Rule {
+
+        @NotBlank(message = "Rate limit rule pattern is required")
+        private String pattern;
+        private KeyType key = KeyType.IP;
+        @Positive(message = "Rate limit rule capacity must be greater than 0")
+        private int capacity = 10;
+        @Positive(message = "Rate limit rule refill-per-second must be greater than 0")
+        private double refillPerSecond = 1.0;
+
+        public String getPattern() { return pattern; }
+        public void setPattern(String pattern) { this.pattern = pattern; }
+
+        public KeyType getKey() { return key; }
+        public void setKey(KeyType key) { this.key = key; }
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getIdleEvictionSeconds() { return idleEvictionSeconds; }
+    public void setIdleEvictionSeconds(long idleEvictionSeconds) { this.idleEvictionSeconds = idleEvictionSeconds; }
+
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+}
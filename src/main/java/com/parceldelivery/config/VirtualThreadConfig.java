@@ -0,0 +1,51 @@
+package com.parceldelivery.config;
+
+import com.parceldelivery.util.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+// Virtual-thread mode (spring.threads.virtual.enabled=true on a Java 21+ runtime).
+// Spring Boot then serves requests on virtual threads, so everything a request calls into, BookingService and
+// its JDBC work included, blocks a virtual thread instead of a Tomcat worker. Request concurrency is no
+// longer capped by the worker pool, so the connection pool is fronted by a semaphore of the same size.
+// The pool stays a bean of its own, built as Spring Boot would, so it is still closed on shutdown;
+// everything that injects a DataSource gets the limiting wrapper.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Value("${app.virtual-threads.connection-wait-ms:30000}")
+    private long connectionWaitMs;
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource hikariDataSource(DataSourceProperties properties) {
+        HikariDataSource hikari = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            hikari.setPoolName(properties.getName());
+        }
+        return hikari;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource hikariDataSource) {
+        logger.info("Limiting the connection pool to {} concurrent connection holders",
+            hikariDataSource.getMaximumPoolSize());
+        return new ConnectionLimitingDataSource(hikariDataSource, hikariDataSource.getMaximumPoolSize(), connectionWaitMs);
+    }
+}
@@ -6,14 +6,17 @@ import com.parceldelivery.dto.UserRegistrationDto;
 import com.parceldelivery.model.User;
 import com.parceldelivery.repository.UserRepository;
 import com.parceldelivery.security.CustomUserDetails;
+import com.parceldelivery.security.PasswordHashingRejectedException;
 import com.parceldelivery.service.CustomUserDetailsService;
 import com.parceldelivery.util.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -79,6 +82,8 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Customer Registration successful.", responseData));
 
+        } catch (PasswordHashingRejectedException e) {
+            return serverBusy();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Registration failed: " + e.getMessage()));
@@ -115,9 +120,14 @@ public class AuthController {
                 ApiResponse.success("Login successful", responseData)
             );
 
+        } catch (PasswordHashingRejectedException e) {
+            return serverBusy();
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(ApiResponse.error("Invalid Customer ID or password"));
+        } catch (DisabledException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error("Account is disabled"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Login failed: " + e.getMessage()));
@@ -162,9 +172,18 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Officer Registration successful.", responseData));
 
+        } catch (PasswordHashingRejectedException e) {
+            return serverBusy();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Registration failed: " + e.getMessage()));
         }
     }
+
+    // Password hashing pool is saturated: fail fast and let the client retry instead of tying up a request thread
+    private ResponseEntity<ApiResponse<Map<String, Object>>> serverBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ApiResponse.error("Server is busy, please try again shortly"));
+    }
 }
\ No newline at end of file
@@ -1,43 +1,110 @@
 package com.parceldelivery.controller;
 
+import com.parceldelivery.config.QueryBudget;
 import com.parceldelivery.dto.ApiResponse;
+import com.parceldelivery.dto.BookingImportJob;
 import com.parceldelivery.dto.BookingRequestDto;
+import com.parceldelivery.dto.BookingView;
+import com.parceldelivery.dto.BulkStatusTransitionRequestDto;
+import com.parceldelivery.dto.BulkStatusTransitionResult;
+import com.parceldelivery.dto.CostQuoteBatchRequestDto;
+import com.parceldelivery.dto.CostQuoteRequestDto;
+import com.parceldelivery.dto.CountMode;
+import com.parceldelivery.dto.CursorPage;
 import com.parceldelivery.model.Booking;
 import com.parceldelivery.model.User;
-import com.parceldelivery.security.CustomUserDetails;
+import com.parceldelivery.security.AuthenticatedUser;
+import com.parceldelivery.service.BookingETags;
+import com.parceldelivery.service.BookingEventHub;
+import com.parceldelivery.service.BookingImportService;
+import com.parceldelivery.service.BookingSearchIndex;
 import com.parceldelivery.service.BookingService;
+import com.parceldelivery.service.BookingStatusTransitionService;
+import com.parceldelivery.service.CustomUserDetailsService;
+import com.parceldelivery.service.DeliveryFeedService;
+import com.parceldelivery.service.OptimisticLockRetry;
+import com.parceldelivery.service.PricingEngine;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @CrossOrigin(origins = "*")
 public class BookingController {
 
+    // Per-user responses: clients may keep them but must revalidate with the ETag before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private BookingImportService bookingImportService;
+
+    @Autowired
+    private DeliveryFeedService deliveryFeedService;
+
+    @Autowired
+    private BookingSearchIndex bookingSearchIndex;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private BookingETags bookingETags;
+
+    @Autowired
+    private BookingEventHub bookingEventHub;
+
+    @Autowired
+    private BookingStatusTransitionService bookingStatusTransitionService;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    // NDJSON history feeds may outlive spring.mvc.async.request-timeout, so they carry their own
+    @Value("${app.feed.timeout-minutes:30}")
+    private long feedTimeoutMinutes;
+
     // Customer booking endpoints
     @PostMapping("/api/customer/bookings")
     public ResponseEntity<ApiResponse<Map<String, Object>>> createCustomerBooking(
             @Valid @RequestBody BookingRequestDto bookingRequest,
             Authentication authentication) {
         try {
-            CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            User user = userDetails.getUser();
+            User user = userDetailsService.loadCurrentUser(authentication);
 
             Booking booking = bookingService.createBooking(bookingRequest, user, false);
 
@@ -66,8 +133,7 @@ public class BookingController {
             @Valid @RequestBody BookingRequestDto bookingRequest,
             Authentication authentication) {
         try {
-            CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            User officer = userDetails.getUser();
+            User officer = userDetailsService.loadCurrentUser(authentication);
 
             Booking booking = bookingService.createBooking(bookingRequest, officer, true);
 
@@ -90,18 +156,61 @@ public class BookingController {
         }
     }
 
+    @PostMapping(value = "/api/officer/bookings/import", consumes = "multipart/form-data")
+    public ResponseEntity<ApiResponse<BookingImportJob>> importBookings(
+            @RequestParam("file") MultipartFile file,
+            Authentication authentication) {
+        try {
+            User officer = userDetailsService.loadCurrentUser(authentication);
+
+            BookingImportJob job = bookingImportService.startImport(file, officer);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Import started. Poll the import status for progress.", job));
+
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(ApiResponse.error("Too many imports in progress, please try again later"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Import failed: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Import failed: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/api/officer/bookings/import/{importId}")
+    public ResponseEntity<ApiResponse<BookingImportJob>> getImportStatus(@PathVariable String importId) {
+        Optional<BookingImportJob> job = bookingImportService.getImport(importId);
+        if (job.isPresent()) {
+            return ResponseEntity.ok(ApiResponse.success("Import status retrieved", job.get()));
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(ApiResponse.error("Import not found"));
+    }
+
     // Common endpoints for both customer and officer
     @GetMapping("/api/common/bookings/{bookingId}")
-    public ResponseEntity<ApiResponse<Booking>> getBookingById(
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<BookingView>> getBookingById(
             @PathVariable String bookingId,
-            Authentication authentication) {
+            Authentication authentication,
+            ServletWebRequest webRequest) {
         try {
-            CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            User user = userDetails.getUser();
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
 
-            Optional<Booking> booking = bookingService.getBookingByIdForUser(bookingId, user);
+            Optional<BookingView> booking = bookingService.getBookingByIdForUser(bookingId, user);
             if (booking.isPresent()) {
-                return ResponseEntity.ok(ApiResponse.success("Booking found", booking.get()));
+                // Polling clients send back the ETag; an unchanged booking costs a 304 and no serialization
+                String etag = bookingETags.forBooking(booking.get());
+                long lastModified = bookingETags.lastModified(booking.get());
+                if (webRequest.checkNotModified(etag, lastModified)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE)
+                        .lastModified(lastModified).build();
+                }
+                return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).lastModified(lastModified)
+                    .body(ApiResponse.success("Booking found", booking.get()));
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error("Booking not found"));
@@ -112,41 +221,114 @@ public class BookingController {
         }
     }
 
+    // Live status changes of one booking; reconnecting clients resume after Last-Event-ID
+    @GetMapping(value = "/api/common/bookings/{bookingId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBookingEvents(
+            @PathVariable String bookingId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            Authentication authentication) {
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        if (bookingService.getBookingByIdForUser(bookingId, user).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(bookingEventHub.subscribeToBooking(bookingId, lastEventId));
+    }
+
     // Customer specific endpoints
     @GetMapping("/api/customer/bookings")
-    public ResponseEntity<ApiResponse<Page<Booking>>> getCustomerBookings(
+    @QueryBudget(3)
+    public ResponseEntity<ApiResponse<Slice<BookingView>>> getCustomerBookings(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String bookingId,
             @RequestParam(required = false) Booking.BookingStatus status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
-            Authentication authentication) {
+            @RequestParam(defaultValue = "CACHED") CountMode count,
+            Authentication authentication,
+            ServletWebRequest webRequest) {
         try {
-            CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            User user = userDetails.getUser();
+            String caller = ((AuthenticatedUser) authentication.getPrincipal()).getCustomerId();
+            String etag = bookingETags.forListing(webRequest.getRequest(), caller);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
+
+            User user = userDetailsService.loadCurrentUser(authentication);
 
             Pageable pageable = PageRequest.of(page, size);
-            Page<Booking> bookings = bookingService.getBookingsWithFilters(user, bookingId, status, startDate, endDate, pageable);
+            Slice<BookingView> bookings = bookingService.getBookingsWithFilters(user, bookingId, status, startDate, endDate, pageable, count);
 
-            return ResponseEntity.ok(ApiResponse.success("Bookings retrieved successfully", bookings));
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE)
+                .body(ApiResponse.success("Bookings retrieved successfully", bookings));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Error retrieving bookings: " + e.getMessage()));
         }
     }
 
+    @GetMapping("/api/customer/bookings/scroll")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<CursorPage<BookingView>>> scrollCustomerBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String bookingId,
+            @RequestParam(required = false) Booking.BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            Authentication authentication,
+            ServletWebRequest webRequest) {
+        try {
+            String caller = ((AuthenticatedUser) authentication.getPrincipal()).getCustomerId();
+            String etag = bookingETags.forListing(webRequest.getRequest(), caller);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
+
+            User user = userDetailsService.loadCurrentUser(authentication);
+
+            CursorPage<BookingView> bookings = bookingService.scrollBookingsWithFilters(user, null, bookingId, status, startDate, endDate, cursor, size);
+
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE)
+                .body(ApiResponse.success("Bookings retrieved successfully", bookings));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Error retrieving bookings: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error retrieving bookings: " + e.getMessage()));
+        }
+    }
+
+    // Full delivered history as NDJSON, streamed from a database cursor
+    @GetMapping(value = "/api/customer/bookings/delivered/stream", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> streamCustomerDeliveredBookings(Authentication authentication, HttpServletResponse response) {
+        String customerId = ((AuthenticatedUser) authentication.getPrincipal()).getCustomerId();
+        return ndjsonFeed(response, out -> deliveryFeedService.writeDeliveredBookings(customerId, out));
+    }
+
+    // Live status changes of all of the caller's bookings
+    @GetMapping(value = "/api/customer/bookings/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCustomerBookingEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            Authentication authentication) {
+        String customerId = ((AuthenticatedUser) authentication.getPrincipal()).getCustomerId();
+        return ResponseEntity.ok(bookingEventHub.subscribeToCustomer(customerId, lastEventId));
+    }
+
     @PostMapping("/api/customer/bookings/{bookingId}/cancel")
     public ResponseEntity<ApiResponse<String>> cancelCustomerBooking(
             @PathVariable String bookingId,
             Authentication authentication) {
         try {
-            CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            User user = userDetails.getUser();
+            User user = userDetailsService.loadCurrentUser(authentication);
 
-            bookingService.cancelBooking(bookingId, user);
+            optimisticLockRetry.run("Cancel booking " + bookingId, () -> bookingService.cancelBooking(bookingId, user));
             return ResponseEntity.ok(ApiResponse.success("Booking cancelled successfully"));
 
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Booking was changed concurrently, please retry"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ApiResponse.error("Booking cancel failed: " + e.getMessage()));
@@ -155,46 +337,163 @@ public class BookingController {
 
     // Officer specific endpoints
     @GetMapping("/api/officer/bookings")
-    public ResponseEntity<ApiResponse<Page<Booking>>> getAllBookings(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Slice<BookingView>>> getAllBookings(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String customerId,
             @RequestParam(required = false) String bookingId,
             @RequestParam(required = false) Booking.BookingStatus status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "CACHED") CountMode count,
+            ServletWebRequest webRequest) {
+        try {
+            String etag = bookingETags.forListing(webRequest.getRequest(), "");
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
+
+            Pageable pageable = PageRequest.of(page, size);
+            Slice<BookingView> bookings = bookingService.getAllBookingsWithFilters(customerId, bookingId, status, startDate, endDate, pageable, count);
+
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE)
+                .body(ApiResponse.success("All bookings retrieved successfully", bookings));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error retrieving bookings: " + e.getMessage()));
+        }
+    }
+
+    // Ranked full-text search over receiver name, address and parcel contents
+    @GetMapping("/api/officer/bookings/search")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<Page<BookingView>>> searchBookings(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Booking.BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Booking> bookings = bookingService.getAllBookingsWithFilters(customerId, bookingId, status, startDate, endDate, pageable);
+            Page<BookingView> bookings = bookingSearchIndex.search(q, status, startDate, endDate, pageable);
 
-            return ResponseEntity.ok(ApiResponse.success("All bookings retrieved successfully", bookings));
+            return ResponseEntity.ok(ApiResponse.success("Search completed successfully", bookings));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Error searching bookings: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error searching bookings: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/api/officer/bookings/scroll")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<CursorPage<BookingView>>> scrollAllBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) String bookingId,
+            @RequestParam(required = false) Booking.BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            ServletWebRequest webRequest) {
+        try {
+            String etag = bookingETags.forListing(webRequest.getRequest(), "");
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
+
+            CursorPage<BookingView> bookings = bookingService.scrollBookingsWithFilters(null, customerId, bookingId, status, startDate, endDate, cursor, size);
+
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE)
+                .body(ApiResponse.success("All bookings retrieved successfully", bookings));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Error retrieving bookings: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Error retrieving bookings: " + e.getMessage()));
         }
     }
 
+    @GetMapping(value = "/api/officer/bookings/delivered/stream", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> streamAllDeliveredBookings(HttpServletResponse response) {
+        return ndjsonFeed(response, out -> deliveryFeedService.writeDeliveredBookings(null, out));
+    }
+
+    @GetMapping(value = "/api/officer/feedback/stream", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> streamDeliveredFeedback(HttpServletResponse response) {
+        return ndjsonFeed(response, deliveryFeedService::writeDeliveredFeedback);
+    }
+
+    // Writes the feed on the MVC async executor under the feed timeout; other async handlers keep the default
+    private WebAsyncTask<Void> ndjsonFeed(HttpServletResponse response, StreamingResponseBody body) {
+        return new WebAsyncTask<>(TimeUnit.MINUTES.toMillis(feedTimeoutMinutes), () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    // Read, guarded UPDATE, history and outbox inserts, and on every 50th change of each a sequence call
     @PutMapping("/api/officer/bookings/{bookingId}/status")
-    public ResponseEntity<ApiResponse<Booking>> updateBookingStatus(
+    @QueryBudget(6)
+    public ResponseEntity<ApiResponse<BookingView>> updateBookingStatus(
             @PathVariable String bookingId,
-            @RequestParam Booking.BookingStatus status) {
+            @RequestParam Booking.BookingStatus status,
+            Authentication authentication) {
         try {
-            Booking updatedBooking = bookingService.updateBookingStatus(bookingId, status);
+            String officerId = ((AuthenticatedUser) authentication.getPrincipal()).getCustomerId();
+            BookingView updatedBooking = optimisticLockRetry.run("Status update of " + bookingId,
+                () -> bookingService.updateBookingStatus(bookingId, status, officerId));
             return ResponseEntity.ok(ApiResponse.success("Booking status updated successfully", updatedBooking));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Booking was changed concurrently, please retry"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ApiResponse.error("Status update failed: " + e.getMessage()));
         }
     }
 
+    // Hub scans: one target status for many parcels, applied in batches with a result per booking
+    // 10000 IDs at the default batch size of 500 are 20 batches of at most 55 statements: the status read, per
+    // source status one guarded UPDATE (plus one lookup on a conflict), and history and outbox rows in JDBC
+    // batches of 50 with one sequence call per 50 ids. A smaller app.transitions.batch-size needs more.
+    @PostMapping("/api/officer/bookings/status/bulk")
+    @QueryBudget(1100)
+    public ResponseEntity<ApiResponse<BulkStatusTransitionResult>> bulkUpdateBookingStatus(
+            @Valid @RequestBody BulkStatusTransitionRequestDto transitionRequest,
+            Authentication authentication) {
+        try {
+            String officerId = ((AuthenticatedUser) authentication.getPrincipal()).getCustomerId();
+            BulkStatusTransitionResult result = bookingStatusTransitionService.transition(
+                transitionRequest.getBookingIds(), transitionRequest.getStatus(), officerId);
+            return ResponseEntity.ok(ApiResponse.success("Bulk status update processed", result));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Bulk status update failed: " + e.getMessage()));
+        }
+    }
+
+    // Guarded UPDATE, read-back, outbox insert and, on every 50th outbox row, a sequence call
     @PutMapping("/api/officer/bookings/{bookingId}/schedule")
-    public ResponseEntity<ApiResponse<Booking>> updatePickupSchedule(
+    @QueryBudget(4)
+    public ResponseEntity<ApiResponse<BookingView>> updatePickupSchedule(
             @PathVariable String bookingId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime pickupTime,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dropoffTime) {
         try {
-            Booking updatedBooking = bookingService.updatePickupAndDropoffTime(bookingId, pickupTime, dropoffTime);
+            BookingView updatedBooking = optimisticLockRetry.run("Schedule update of " + bookingId,
+                () -> bookingService.updatePickupAndDropoffTime(bookingId, pickupTime, dropoffTime));
             return ResponseEntity.ok(ApiResponse.success("Pickup schedule updated successfully", updatedBooking));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Booking was changed concurrently, please retry"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ApiResponse.error("Schedule update failed: " + e.getMessage()));
@@ -206,12 +505,14 @@ public class BookingController {
             @PathVariable String bookingId,
             Authentication authentication) {
         try {
-            CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            User user = userDetails.getUser();
+            User user = userDetailsService.loadCurrentUser(authentication);
 
-            bookingService.cancelBooking(bookingId, user);
+            optimisticLockRetry.run("Cancel booking " + bookingId, () -> bookingService.cancelBooking(bookingId, user));
             return ResponseEntity.ok(ApiResponse.success("Booking cancelled successfully and Booking Amount will be refunded to the customer account within 5 working days"));
 
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Booking was changed concurrently, please retry"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ApiResponse.error("Booking cancel failed"));
@@ -224,26 +525,11 @@ public class BookingController {
             @RequestParam Integer weight,
             @RequestParam Booking.DeliveryType deliveryType,
             @RequestParam Booking.PackingPreference packingPreference,
+            @RequestParam(required = false) String receiverPin,
             @RequestParam(defaultValue = "false") boolean isOfficerBooking) {
         try {
-            // Create a temporary booking to calculate cost
-            Booking tempBooking = new Booking();
-            tempBooking.setParcelWeightInGram(weight);
-            tempBooking.setParcelDeliveryType(deliveryType);
-            tempBooking.setParcelPackingPreference(packingPreference);
-            tempBooking.setBookedByOfficer(isOfficerBooking);
-            tempBooking.calculateServiceCost();
-
-            Map<String, Object> responseData = new HashMap<>();
-            responseData.put("totalCost", tempBooking.getParcelServiceCost());
-            responseData.put("breakdown", Map.of(
-                "baseRate", "50",
-                "weightCharge", "0.02 × " + weight,
-                "deliveryCharge", deliveryType.getCost(),
-                "packingCharge", packingPreference.getCost(),
-                "adminFee", isOfficerBooking ? "50" : "0",
-                "taxRate", "5%"
-            ));
+            Map<String, Object> responseData = pricingEngine.quoteWithBreakdown(
+                receiverPin, weight, deliveryType, packingPreference, isOfficerBooking);
 
             return ResponseEntity.ok(ApiResponse.success("Cost calculated successfully", responseData));
         } catch (Exception e) {
@@ -251,4 +537,23 @@ public class BookingController {
                 .body(ApiResponse.error("Cost calculation failed: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // Totals for many parcels in one call, in request order
+    @PostMapping("/api/common/calculate-cost/batch")
+    public ResponseEntity<ApiResponse<List<BigDecimal>>> calculateCostBatch(
+            @Valid @RequestBody CostQuoteBatchRequestDto batchRequest) {
+        try {
+            List<CostQuoteRequestDto> quotes = batchRequest.getQuotes();
+            List<BigDecimal> totals = new ArrayList<>(quotes.size());
+            for (CostQuoteRequestDto quote : quotes) {
+                totals.add(pricingEngine.quote(quote.getReceiverPin(), quote.getWeight(), quote.getDeliveryType(),
+                    quote.getPackingPreference(), quote.getIsOfficerBooking()));
+            }
+
+            return ResponseEntity.ok(ApiResponse.success("Costs calculated successfully", totals));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Cost calculation failed: " + e.getMessage()));
+        }
+    }
+}
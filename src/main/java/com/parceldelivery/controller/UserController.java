@@ -0,0 +1,48 @@
+package com.parceldelivery.controller;
+
+import com.parceldelivery.dto.ApiResponse;
+import com.parceldelivery.dto.UserAccessUpdateDto;
+import com.parceldelivery.model.User;
+import com.parceldelivery.security.AuthenticatedUser;
+import com.parceldelivery.service.UserAccountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/officer/users")
+@CrossOrigin(origins = "*")
+public class UserController {
+
+    @Autowired
+    private UserAccountService userAccountService;
+
+    // Role changes and disabling take effect immediately: the user's existing tokens are revoked
+    @PutMapping("/{customerId}/access")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> updateUserAccess(
+            @PathVariable String customerId,
+            @RequestBody UserAccessUpdateDto accessUpdate,
+            Authentication authentication) {
+        try {
+            String officerId = ((AuthenticatedUser) authentication.getPrincipal()).getCustomerId();
+            User user = userAccountService.updateAccess(customerId, accessUpdate.getRole(),
+                accessUpdate.getEnabled(), officerId);
+
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("customerId", user.getCustomerId());
+            responseData.put("customerName", user.getCustomerName());
+            responseData.put("role", user.getRole().name());
+            responseData.put("enabled", user.isEnabled());
+
+            return ResponseEntity.ok(ApiResponse.success("User access updated successfully", responseData));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("User access update failed: " + e.getMessage()));
+        }
+    }
+}
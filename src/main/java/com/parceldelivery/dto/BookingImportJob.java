@@ -0,0 +1,90 @@
+package com.parceldelivery.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Progress and per-row error report of a bulk booking import; updated by the import worker, read by pollers
+public class BookingImportJob {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    public static class RowError {
+        private final int rowNumber;
+        private final String message;
+
+        public RowError(int rowNumber, String message) {
+            this.rowNumber = rowNumber;
+            this.message = message;
+        }
+
+        public int getRowNumber() { return rowNumber; }
+        public String getMessage() { return message; }
+    }
+
+    private final String importId;
+    private final String fileName;
+    private final int maxReportedErrors;
+
+    private volatile Status status = Status.PENDING;
+    private volatile String failureReason;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    private final AtomicInteger processedRows = new AtomicInteger();
+    private final AtomicInteger importedRows = new AtomicInteger();
+    private final AtomicInteger failedRows = new AtomicInteger();
+    private final ConcurrentLinkedQueue<RowError> errors = new ConcurrentLinkedQueue<>();
+
+    public BookingImportJob(String importId, String fileName, int maxReportedErrors) {
+        this.importId = importId;
+        this.fileName = fileName;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void markRunning() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    public void markCompleted() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    public void markFailed(String reason) {
+        failureReason = reason;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public void rowProcessed() {
+        processedRows.incrementAndGet();
+    }
+
+    public void rowsImported(int count) {
+        importedRows.addAndGet(count);
+    }
+
+    // Every failure is counted, but only the first maxReportedErrors are kept in the report
+    public void rowFailed(int rowNumber, String message) {
+        if (failedRows.incrementAndGet() <= maxReportedErrors) {
+            errors.add(new RowError(rowNumber, message));
+        }
+    }
+
+    public String getImportId() { return importId; }
+    public String getFileName() { return fileName; }
+    public Status getStatus() { return status; }
+    public String getFailureReason() { return failureReason; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public int getProcessedRows() { return processedRows.get(); }
+    public int getImportedRows() { return importedRows.get(); }
+    public int getFailedRows() { return failedRows.get(); }
+    public List<RowError> getErrors() { return new ArrayList<>(errors); }
+}
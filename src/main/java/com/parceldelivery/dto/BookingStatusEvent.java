@@ -0,0 +1,11 @@
+package com.parceldelivery.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.parceldelivery.model.Booking;
+
+import java.time.LocalDateTime;
+
+// One committed status transition as pushed to SSE subscribers; sequence doubles as the SSE event ID
+public record BookingStatusEvent(@JsonIgnore long sequence, String bookingId, @JsonIgnore String customerId,
+                                 Booking.BookingStatus status, LocalDateTime occurredAt) {
+}
@@ -0,0 +1,7 @@
+package com.parceldelivery.dto;
+
+import com.parceldelivery.model.Booking;
+
+// Just enough of a booking to validate and apply a status transition without loading the entity
+public record BookingStatusRow(Long id, String bookingId, String customerId, Booking.BookingStatus status) {
+}
@@ -0,0 +1,94 @@
+package com.parceldelivery.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.parceldelivery.model.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read model for booking responses, filled by a constructor projection so no entity or lazy User is serialized
+public class BookingView {
+
+    private final Long id;
+    private final String bookingId;
+    private final String customerId;
+    private final String customerName;
+    private final String receiverName;
+    private final String receiverAddress;
+    private final String receiverPin;
+    private final String receiverMobile;
+    private final Integer parcelWeightInGram;
+    private final String parcelContentsDescription;
+    private final Booking.DeliveryType parcelDeliveryType;
+    private final Booking.PackingPreference parcelPackingPreference;
+    private final LocalDateTime parcelPickupTime;
+    private final LocalDateTime parcelDropoffTime;
+    private final BigDecimal parcelServiceCost;
+    private final LocalDateTime parcelPaymentTime;
+    private final Booking.BookingStatus status;
+    private final boolean bookedByOfficer;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public BookingView(Long id, String bookingId, String customerId, String customerName,
+                       String receiverName, String receiverAddress, String receiverPin, String receiverMobile,
+                       Integer parcelWeightInGram, String parcelContentsDescription,
+                       Booking.DeliveryType parcelDeliveryType, Booking.PackingPreference parcelPackingPreference,
+                       LocalDateTime parcelPickupTime, LocalDateTime parcelDropoffTime,
+                       BigDecimal parcelServiceCost, LocalDateTime parcelPaymentTime,
+                       Booking.BookingStatus status, Boolean bookedByOfficer,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.bookingId = bookingId;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.receiverName = receiverName;
+        this.receiverAddress = receiverAddress;
+        this.receiverPin = receiverPin;
+        this.receiverMobile = receiverMobile;
+        this.parcelWeightInGram = parcelWeightInGram;
+        this.parcelContentsDescription = parcelContentsDescription;
+        this.parcelDeliveryType = parcelDeliveryType;
+        this.parcelPackingPreference = parcelPackingPreference;
+        this.parcelPickupTime = parcelPickupTime;
+        this.parcelDropoffTime = parcelDropoffTime;
+        this.parcelServiceCost = parcelServiceCost;
+        this.parcelPaymentTime = parcelPaymentTime;
+        this.status = status;
+        this.bookedByOfficer = Boolean.TRUE.equals(bookedByOfficer);
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // The same booking after a targeted status UPDATE, without reading it back
+    public BookingView withStatus(Booking.BookingStatus newStatus, LocalDateTime newUpdatedAt) {
+        return new BookingView(id, bookingId, customerId, customerName, receiverName, receiverAddress, receiverPin,
+            receiverMobile, parcelWeightInGram, parcelContentsDescription, parcelDeliveryType, parcelPackingPreference,
+            parcelPickupTime, parcelDropoffTime, parcelServiceCost, parcelPaymentTime, newStatus, bookedByOfficer,
+            createdAt, newUpdatedAt);
+    }
+
+    // Internal key, only used to build keyset cursors
+    @JsonIgnore
+    public Long getId() { return id; }
+
+    public String getBookingId() { return bookingId; }
+    public String getCustomerId() { return customerId; }
+    public String getCustomerName() { return customerName; }
+    public String getReceiverName() { return receiverName; }
+    public String getReceiverAddress() { return receiverAddress; }
+    public String getReceiverPin() { return receiverPin; }
+    public String getReceiverMobile() { return receiverMobile; }
+    public Integer getParcelWeightInGram() { return parcelWeightInGram; }
+    public String getParcelContentsDescription() { return parcelContentsDescription; }
+    public Booking.DeliveryType getParcelDeliveryType() { return parcelDeliveryType; }
+    public Booking.PackingPreference getParcelPackingPreference() { return parcelPackingPreference; }
+    public LocalDateTime getParcelPickupTime() { return parcelPickupTime; }
+    public LocalDateTime getParcelDropoffTime() { return parcelDropoffTime; }
+    public BigDecimal getParcelServiceCost() { return parcelServiceCost; }
+    public LocalDateTime getParcelPaymentTime() { return parcelPaymentTime; }
+    public Booking.BookingStatus getStatus() { return status; }
+    public boolean isBookedByOfficer() { return bookedByOfficer; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
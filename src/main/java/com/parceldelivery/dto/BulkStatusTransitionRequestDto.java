@@ -0,0 +1,26 @@
+package com.parceldelivery.dto;
+
+import com.parceldelivery.model.Booking;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+public class BulkStatusTransitionRequestDto {
+    
+    @NotEmpty(message = "At least one booking ID is required")
+    @Size(max = 10000, message = "At most 10000 bookings per request")
+    private List<@NotBlank String> bookingIds;
+    
+    @NotNull(message = "Target status is required")
+    private Booking.BookingStatus status;
+    
+    // Constructors
+    public BulkStatusTransitionRequestDto() {}
+    
+    // Getters and Setters
+    public List<String> getBookingIds() { return bookingIds; }
+    public void setBookingIds(List<String> bookingIds) { this.bookingIds = bookingIds; }
+    
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+}
@@ -0,0 +1,40 @@
+package com.parceldelivery.dto;
+
+import com.parceldelivery.model.Booking;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk status transition, one item per distinct booking ID in request order
+public class BulkStatusTransitionResult {
+
+    public enum Outcome {
+        UPDATED, NOT_FOUND, INVALID_TRANSITION, CONFLICT, FAILED
+    }
+
+    public record Item(String bookingId, Outcome outcome, Booking.BookingStatus previousStatus, String message) {
+    }
+
+    private final Booking.BookingStatus targetStatus;
+    private final List<Item> items = new ArrayList<>();
+    private int updated;
+    private int rejected;
+
+    public BulkStatusTransitionResult(Booking.BookingStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+
+    public void add(Item item) {
+        items.add(item);
+        if (item.outcome() == Outcome.UPDATED) {
+            updated++;
+        } else {
+            rejected++;
+        }
+    }
+
+    public Booking.BookingStatus getTargetStatus() { return targetStatus; }
+    public int getUpdated() { return updated; }
+    public int getRejected() { return rejected; }
+    public List<Item> getItems() { return items; }
+}
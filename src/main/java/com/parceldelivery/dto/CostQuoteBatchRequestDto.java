@@ -0,0 +1,20 @@
+package com.parceldelivery.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+public class CostQuoteBatchRequestDto {
+    
+    @NotEmpty(message = "At least one quote is required")
+    @Size(max = 1000, message = "At most 1000 quotes per request")
+    private List<@Valid @NotNull CostQuoteRequestDto> quotes;
+    
+    // Constructors
+    public CostQuoteBatchRequestDto() {}
+    
+    // Getters and Setters
+    public List<CostQuoteRequestDto> getQuotes() { return quotes; }
+    public void setQuotes(List<CostQuoteRequestDto> quotes) { this.quotes = quotes; }
+}
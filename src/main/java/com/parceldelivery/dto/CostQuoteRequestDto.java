@@ -0,0 +1,42 @@
+package com.parceldelivery.dto;
+
+import com.parceldelivery.model.Booking;
+import jakarta.validation.constraints.*;
+
+public class CostQuoteRequestDto {
+    
+    @NotNull(message = "Parcel weight is required")
+    @Min(value = 1, message = "Weight must be at least 1 gram")
+    private Integer weight;
+    
+    @NotNull(message = "Delivery type is required")
+    private Booking.DeliveryType deliveryType;
+    
+    @NotNull(message = "Packing preference is required")
+    private Booking.PackingPreference packingPreference;
+    
+    // Destination PIN; selects the delivery zone on the rate card
+    @Pattern(regexp = "\\d{6}", message = "PIN must be 6 digits")
+    private String receiverPin;
+    
+    private boolean isOfficerBooking;
+    
+    // Constructors
+    public CostQuoteRequestDto() {}
+    
+    // Getters and Setters
+    public Integer getWeight() { return weight; }
+    public void setWeight(Integer weight) { this.weight = weight; }
+    
+    public Booking.DeliveryType getDeliveryType() { return deliveryType; }
+    public void setDeliveryType(Booking.DeliveryType deliveryType) { this.deliveryType = deliveryType; }
+    
+    public Booking.PackingPreference getPackingPreference() { return packingPreference; }
+    public void setPackingPreference(Booking.PackingPreference packingPreference) { this.packingPreference = packingPreference; }
+    
+    public String getReceiverPin() { return receiverPin; }
+    public void setReceiverPin(String receiverPin) { this.receiverPin = receiverPin; }
+    
+    public boolean getIsOfficerBooking() { return isOfficerBooking; }
+    public void setIsOfficerBooking(boolean isOfficerBooking) { this.isOfficerBooking = isOfficerBooking; }
+}
@@ -0,0 +1,11 @@
+package com.parceldelivery.dto;
+
+// How a paged booking listing computes its total
+public enum CountMode {
+    // Run a COUNT for every page
+    EXACT,
+    // Reuse a recent COUNT for the same filter; invalidated when bookings are created or change status
+    CACHED,
+    // Return a slice with a hasNext flag and no total
+    NONE
+}
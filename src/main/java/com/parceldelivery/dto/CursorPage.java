@@ -0,0 +1,21 @@
+package com.parceldelivery.dto;
+
+import java.util.List;
+
+// One keyset page: the items, whether more exist, and the token to fetch the next page
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final boolean hasMore;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, boolean hasMore, String nextCursor) {
+        this.content = content;
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() { return content; }
+    public boolean isHasMore() { return hasMore; }
+    public String getNextCursor() { return nextCursor; }
+}
@@ -0,0 +1,31 @@
+package com.parceldelivery.dto;
+
+import java.time.LocalDateTime;
+
+// Read model for feedback feeds, filled by a constructor projection so no Feedback, Booking or User is managed
+public class FeedbackView {
+
+    private final String bookingId;
+    private final String customerId;
+    private final String customerName;
+    private final Integer rating;
+    private final String feedbackDescription;
+    private final LocalDateTime feedbackDate;
+
+    public FeedbackView(String bookingId, String customerId, String customerName,
+                        Integer rating, String feedbackDescription, LocalDateTime feedbackDate) {
+        this.bookingId = bookingId;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.rating = rating;
+        this.feedbackDescription = feedbackDescription;
+        this.feedbackDate = feedbackDate;
+    }
+
+    public String getBookingId() { return bookingId; }
+    public String getCustomerId() { return customerId; }
+    public String getCustomerName() { return customerName; }
+    public Integer getRating() { return rating; }
+    public String getFeedbackDescription() { return feedbackDescription; }
+    public LocalDateTime getFeedbackDate() { return feedbackDate; }
+}
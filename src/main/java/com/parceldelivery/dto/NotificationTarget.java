@@ -0,0 +1,6 @@
+package com.parceldelivery.dto;
+
+// Contact details needed to notify about one booking, read as a projection at send time
+public record NotificationTarget(String bookingId, String receiverName, String receiverMobile,
+                                 String customerName, String customerEmail) {
+}
@@ -0,0 +1,80 @@
+package com.parceldelivery.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Tariff file as written by pricing staff; compiled into a RateCard before use. All amounts are in paise.
+public class RateCardDefinition {
+
+    private String version;
+    private List<Zone> zones = new ArrayList<>();
+    // Zone for PINs that match no prefix
+    private String defaultZone;
+    // Inclusive upper bounds of the weight slabs, ascending; heavier parcels fall into one final open slab
+    private List<Integer> slabMaxGrams = new ArrayList<>();
+    private List<Rate> rates = new ArrayList<>();
+    private Map<String, Long> deliveryPaise;
+    private Map<String, Long> packingPaise;
+    private long officerAdminFeePaise;
+    private int taxPercent;
+
+    public static class Zone {
+        private String name;
+        // One to three leading PIN digits; the longest matching prefix wins
+        private List<String> pinPrefixes = new ArrayList<>();
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public List<String> getPinPrefixes() { return pinPrefixes; }
+        public void setPinPrefixes(List<String> pinPrefixes) { this.pinPrefixes = pinPrefixes; }
+    }
+
+    // Charges from one zone to another: one flat amount and one per-gram amount for each slab
+    public static class Rate {
+        private String from;
+        private String to;
+        private List<Long> flatPaise = new ArrayList<>();
+        private List<Long> perGramPaise = new ArrayList<>();
+
+        public String getFrom() { return from; }
+        public void setFrom(String from) { this.from = from; }
+
+        public String getTo() { return to; }
+        public void setTo(String to) { this.to = to; }
+
+        public List<Long> getFlatPaise() { return flatPaise; }
+        public void setFlatPaise(List<Long> flatPaise) { this.flatPaise = flatPaise; }
+
+        public List<Long> getPerGramPaise() { return perGramPaise; }
+        public void setPerGramPaise(List<Long> perGramPaise) { this.perGramPaise = perGramPaise; }
+    }
+
+    public String getVersion() { return version; }
+    public void setVersion(String version) { this.version = version; }
+
+    public List<Zone> getZones() { return zones; }
+    public void setZones(List<Zone> zones) { this.zones = zones; }
+
+    public String getDefaultZone() { return defaultZone; }
+    public void setDefaultZone(String defaultZone) { this.defaultZone = defaultZone; }
+
+    public List<Integer> getSlabMaxGrams() { return slabMaxGrams; }
+    public void setSlabMaxGrams(List<Integer> slabMaxGrams) { this.slabMaxGrams = slabMaxGrams; }
+
+    public List<Rate> getRates() { return rates; }
+    public void setRates(List<Rate> rates) { this.rates = rates; }
+
+    public Map<String, Long> getDeliveryPaise() { return deliveryPaise; }
+    public void setDeliveryPaise(Map<String, Long> deliveryPaise) { this.deliveryPaise = deliveryPaise; }
+
+    public Map<String, Long> getPackingPaise() { return packingPaise; }
+    public void setPackingPaise(Map<String, Long> packingPaise) { this.packingPaise = packingPaise; }
+
+    public long getOfficerAdminFeePaise() { return officerAdminFeePaise; }
+    public void setOfficerAdminFeePaise(long officerAdminFeePaise) { this.officerAdminFeePaise = officerAdminFeePaise; }
+
+    public int getTaxPercent() { return taxPercent; }
+    public void setTaxPercent(int taxPercent) { this.taxPercent = taxPercent; }
+}
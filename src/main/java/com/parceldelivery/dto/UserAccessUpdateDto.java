@@ -0,0 +1,21 @@
+package com.parceldelivery.dto;
+
+import com.parceldelivery.model.User;
+
+public class UserAccessUpdateDto {
+    
+    // Either field may be omitted to leave it unchanged
+    private User.Role role;
+    
+    private Boolean enabled;
+    
+    // Constructors
+    public UserAccessUpdateDto() {}
+    
+    // Getters and Setters
+    public User.Role getRole() { return role; }
+    public void setRole(User.Role role) { this.role = role; }
+    
+    public Boolean getEnabled() { return enabled; }
+    public void setEnabled(Boolean enabled) { this.enabled = enabled; }
+}
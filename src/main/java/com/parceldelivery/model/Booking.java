@@ -1,16 +1,25 @@
 package com.parceldelivery.model;
 
+import com.parceldelivery.util.EntityIds;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@DynamicUpdate
+@NamedEntityGraph(name = "Booking.withUser", attributeNodes = @NamedAttributeNode("user"))
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_user_created", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_bookings_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_bookings_created", columnList = "created_at, id")
+})
 public class Booking {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, length = 20)
@@ -55,6 +64,7 @@ public class Booking {
     
     private LocalDateTime parcelDropoffTime;
     
+    // Priced once by PricingEngine when the booking is created
     @Column(precision = 10, scale = 2)
     private BigDecimal parcelServiceCost;
     
@@ -72,6 +82,10 @@ public class Booking {
     @Column(name = "booked_by_officer")
     private boolean bookedByOfficer = false;
     
+    // Optimistic lock: a save based on a stale read fails instead of overwriting a concurrent change
+    @Version
+    private Long version;
+    
     public enum DeliveryType {
         STANDARD("Standard Delivery", new BigDecimal("30")),
         EXPRESS("Express Delivery", new BigDecimal("80")),
@@ -106,7 +120,37 @@ public class Booking {
     }
     
     public enum BookingStatus {
-        NEW, SCHEDULED, PICKED_UP, ASSIGNED, BOOKED, IN_TRANSIT, DELIVERED, CANCELLED
+        NEW, SCHEDULED, PICKED_UP, ASSIGNED, BOOKED, IN_TRANSIT, DELIVERED, CANCELLED;
+
+        // Parcels only move forward (steps may be skipped), can be cancelled until they are in transit,
+        // and never leave DELIVERED or CANCELLED
+        public boolean canTransitionTo(BookingStatus target) {
+            if (isTerminal() || target == this) {
+                return false;
+            }
+            if (target == CANCELLED) {
+                return stage() < IN_TRANSIT.stage();
+            }
+            return target.stage() > stage();
+        }
+
+        public boolean isTerminal() {
+            return this == DELIVERED || this == CANCELLED;
+        }
+
+        // Lifecycle position; declaration order is not the lifecycle order
+        private int stage() {
+            return switch (this) {
+                case NEW -> 0;
+                case BOOKED -> 1;
+                case SCHEDULED -> 2;
+                case ASSIGNED -> 3;
+                case PICKED_UP -> 4;
+                case IN_TRANSIT -> 5;
+                case DELIVERED -> 6;
+                case CANCELLED -> 7;
+            };
+        }
     }
     
     @PrePersist
@@ -116,9 +160,6 @@ public class Booking {
         if (bookingId == null) {
             bookingId = generateBookingId();
         }
-        if (parcelServiceCost == null) {
-            calculateServiceCost();
-        }
     }
     
     @PreUpdate
@@ -127,22 +168,7 @@ public class Booking {
     }
     
     private String generateBookingId() {
-        return "BK" + System.currentTimeMillis() % 1000000000;
-    }
-    
-    public void calculateServiceCost() {
-        if (parcelWeightInGram != null && parcelDeliveryType != null && parcelPackingPreference != null) {
-            BigDecimal baseRate = new BigDecimal("50");
-            BigDecimal weightCharge = new BigDecimal("0.02").multiply(new BigDecimal(parcelWeightInGram));
-            BigDecimal deliveryCharge = parcelDeliveryType.getCost();
-            BigDecimal packingCharge = parcelPackingPreference.getCost();
-            BigDecimal adminFee = bookedByOfficer ? new BigDecimal("50") : BigDecimal.ZERO;
-            BigDecimal taxRate = new BigDecimal("0.05");
-            
-            BigDecimal subtotal = baseRate.add(weightCharge).add(deliveryCharge).add(packingCharge).add(adminFee);
-            BigDecimal tax = subtotal.multiply(taxRate);
-            this.parcelServiceCost = subtotal.add(tax);
-        }
+        return EntityIds.next("BK");
     }
     
     // Constructors
@@ -173,7 +199,6 @@ public class Booking {
     public Integer getParcelWeightInGram() { return parcelWeightInGram; }
     public void setParcelWeightInGram(Integer parcelWeightInGram) { 
         this.parcelWeightInGram = parcelWeightInGram;
-        calculateServiceCost();
     }
     
     public String getParcelContentsDescription() { return parcelContentsDescription; }
@@ -184,13 +209,11 @@ public class Booking {
     public DeliveryType getParcelDeliveryType() { return parcelDeliveryType; }
     public void setParcelDeliveryType(DeliveryType parcelDeliveryType) { 
         this.parcelDeliveryType = parcelDeliveryType;
-        calculateServiceCost();
     }
     
     public PackingPreference getParcelPackingPreference() { return parcelPackingPreference; }
     public void setParcelPackingPreference(PackingPreference parcelPackingPreference) { 
         this.parcelPackingPreference = parcelPackingPreference;
-        calculateServiceCost();
     }
     
     public LocalDateTime getParcelPickupTime() { return parcelPickupTime; }
@@ -217,6 +240,8 @@ public class Booking {
     public boolean isBookedByOfficer() { return bookedByOfficer; }
     public void setBookedByOfficer(boolean bookedByOfficer) { 
         this.bookedByOfficer = bookedByOfficer;
-        calculateServiceCost();
     }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.parceldelivery.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One row per applied status transition; append-only audit trail of a booking's lifecycle
+@Entity
+@Table(name = "booking_status_history", indexes = {
+    @Index(name = "idx_status_history_booking", columnList = "booking_id, changed_at")
+})
+public class BookingStatusHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_status_history_seq")
+    @SequenceGenerator(name = "booking_status_history_seq", sequenceName = "booking_status_history_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false)
+    private Booking booking;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private Booking.BookingStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private Booking.BookingStatus toStatus;
+
+    // Customer ID of the officer or customer who made the change
+    @Column(name = "changed_by", length = 20)
+    private String changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Constructors
+    public BookingStatusHistory() {}
+
+    public BookingStatusHistory(Booking booking, Booking.BookingStatus fromStatus, Booking.BookingStatus toStatus,
+                                String changedBy, LocalDateTime changedAt) {
+        this.booking = booking;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedBy = changedBy;
+        this.changedAt = changedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Booking getBooking() { return booking; }
+    public void setBooking(Booking booking) { this.booking = booking; }
+
+    public Booking.BookingStatus getFromStatus() { return fromStatus; }
+    public void setFromStatus(Booking.BookingStatus fromStatus) { this.fromStatus = fromStatus; }
+
+    public Booking.BookingStatus getToStatus() { return toStatus; }
+    public void setToStatus(Booking.BookingStatus toStatus) { this.toStatus = toStatus; }
+
+    public String getChangedBy() { return changedBy; }
+    public void setChangedBy(String changedBy) { this.changedBy = changedBy; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
@@ -0,0 +1,39 @@
+package com.parceldelivery.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Highest outbox event ID a sink has acknowledged; each sink advances independently
+@Entity
+@Table(name = "outbox_sink_offsets")
+public class OutboxSinkOffset {
+
+    @Id
+    @Column(name = "sink_name", length = 50)
+    private String sinkName;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public OutboxSinkOffset() {}
+
+    public OutboxSinkOffset(String sinkName, Long lastEventId) {
+        this.sinkName = sinkName;
+        this.lastEventId = lastEventId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getSinkName() { return sinkName; }
+    public void setSinkName(String sinkName) { this.sinkName = sinkName; }
+
+    public Long getLastEventId() { return lastEventId; }
+    public void setLastEventId(Long lastEventId) { this.lastEventId = lastEventId; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,16 +1,20 @@
 package com.parceldelivery.model;
 
+import com.parceldelivery.util.EntityIds;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
 @Table(name = "payments")
 public class Payment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", sequenceName = "payment_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, length = 20)
@@ -52,6 +56,10 @@ public class Payment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic lock, as on Booking
+    @Version
+    private Long version;
+    
     public enum TransactionType {
         CREDIT, DEBIT
     }
@@ -83,15 +91,15 @@ public class Payment {
     }
     
     private String generatePaymentId() {
-        return "PAY" + System.currentTimeMillis() % 1000000000;
+        return EntityIds.next("PAY");
     }
     
     private String generateTransactionId() {
-        return "TXN" + System.currentTimeMillis() % 1000000000;
+        return EntityIds.next("TXN");
     }
     
     private String generateInvoiceNumber() {
-        return "INV" + System.currentTimeMillis() % 1000000000;
+        return EntityIds.next("INV");
     }
     
     public String maskCardNumber(String cardNumber) {
@@ -149,4 +157,7 @@ public class Payment {
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -1,15 +1,19 @@
 package com.parceldelivery.model;
 
+import com.parceldelivery.util.EntityIds;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
 @Table(name = "users")
 public class User {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, length = 20)
@@ -48,6 +52,10 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role = Role.CUSTOMER;
     
+    // Disabled accounts cannot log in, and their outstanding tokens are revoked
+    @Column(nullable = false)
+    private boolean enabled = true;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -73,8 +81,8 @@ public class User {
     }
     
     private String generateCustomerId() {
-        // Generate unique customer ID (format: CUST + timestamp + random)
-        return "CUST" + System.currentTimeMillis() % 1000000;
+        // Generate unique customer ID (format: CUST + 13 character time-ordered ID)
+        return EntityIds.next("CUST");
     }
     
     // Constructors
@@ -122,6 +130,9 @@ public class User {
     public Role getRole() { return role; }
     public void setRole(Role role) { this.role = role; }
     
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
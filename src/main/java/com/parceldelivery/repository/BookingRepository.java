@@ -1,63 +1,136 @@
 package com.parceldelivery.repository;
 
+import com.parceldelivery.dto.BookingStatusRow;
+import com.parceldelivery.dto.BookingView;
+import com.parceldelivery.dto.NotificationTarget;
 import com.parceldelivery.model.Booking;
 import com.parceldelivery.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
+        BookingRepositoryCustom {
+
+    String VIEW_SELECT = "SELECT new com.parceldelivery.dto.BookingView(b.id, b.bookingId, u.customerId, u.customerName, "
+        + "b.receiverName, b.receiverAddress, b.receiverPin, b.receiverMobile, b.parcelWeightInGram, "
+        + "b.parcelContentsDescription, b.parcelDeliveryType, b.parcelPackingPreference, b.parcelPickupTime, "
+        + "b.parcelDropoffTime, b.parcelServiceCost, b.parcelPaymentTime, b.status, b.bookedByOfficer, "
+        + "b.createdAt, b.updatedAt) FROM Booking b JOIN b.user u ";
+
+    // Rows fetched per JDBC round trip by the streaming feeds
+    String STREAM_FETCH_SIZE = "500";
+
+    // Entity reads that hand bookings to callers touching booking.getUser() load the customer in the same
+    // select via the Booking.withUser graph instead of one extra users query per row.
+
+    @EntityGraph("Booking.withUser")
     Optional<Booking> findByBookingId(String bookingId);
     
+    @EntityGraph("Booking.withUser")
     List<Booking> findByUser(User user);
     
+    @EntityGraph("Booking.withUser")
     Page<Booking> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
     
+    @EntityGraph("Booking.withUser")
     Page<Booking> findAllByOrderByCreatedAtDesc(Pageable pageable);
     
+    @EntityGraph("Booking.withUser")
     List<Booking> findByUserAndStatus(User user, Booking.BookingStatus status);
     
-    @Query("SELECT b FROM Booking b WHERE b.user = :user AND " +
-           "(:bookingId IS NULL OR b.bookingId LIKE %:bookingId%) AND " +
-           "(:status IS NULL OR b.status = :status) AND " +
-           "(:startDate IS NULL OR b.createdAt >= :startDate) AND " +
-           "(:endDate IS NULL OR b.createdAt <= :endDate) " +
-           "ORDER BY b.createdAt DESC")
-    Page<Booking> findBookingsWithFilters(@Param("user") User user,
-                                         @Param("bookingId") String bookingId,
-                                         @Param("status") Booking.BookingStatus status,
-                                         @Param("startDate") LocalDateTime startDate,
-                                         @Param("endDate") LocalDateTime endDate,
-                                         Pageable pageable);
-    
-    @Query("SELECT b FROM Booking b WHERE " +
-           "(:customerId IS NULL OR b.user.customerId LIKE %:customerId%) AND " +
-           "(:bookingId IS NULL OR b.bookingId LIKE %:bookingId%) AND " +
-           "(:status IS NULL OR b.status = :status) AND " +
-           "(:startDate IS NULL OR b.createdAt >= :startDate) AND " +
-           "(:endDate IS NULL OR b.createdAt <= :endDate) " +
-           "ORDER BY b.createdAt DESC")
-    Page<Booking> findAllBookingsWithFilters(@Param("customerId") String customerId,
-                                            @Param("bookingId") String bookingId,
-                                            @Param("status") Booking.BookingStatus status,
-                                            @Param("startDate") LocalDateTime startDate,
-                                            @Param("endDate") LocalDateTime endDate,
-                                            Pageable pageable);
-    
+    @EntityGraph("Booking.withUser")
     List<Booking> findByStatus(Booking.BookingStatus status);
     
-    @Query("SELECT b FROM Booking b WHERE b.status = 'DELIVERED' AND b.user = :user")
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user WHERE b.status = 'DELIVERED' AND b.user = :user")
     List<Booking> findDeliveredBookingsByUser(@Param("user") User user);
     
-    @Query("SELECT b FROM Booking b WHERE b.status = 'DELIVERED'")
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user WHERE b.status = 'DELIVERED'")
     List<Booking> findAllDeliveredBookings();
-}
\ No newline at end of file
+
+    @Override
+    @EntityGraph("Booking.withUser")
+    Page<Booking> findAll(Specification<Booking> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph("Booking.withUser")
+    List<Booking> findAll(Specification<Booking> spec);
+
+    @Query("SELECT MIN(b.id) FROM Booking b")
+    Long findMinId();
+
+    @Query("SELECT MAX(b.id) FROM Booking b")
+    Long findMaxId();
+
+    // Streaming feeds: forward-only cursor over projections, so nothing enters the persistence context.
+    // Callers must consume the stream inside a (read-only) transaction and close it.
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(VIEW_SELECT + "WHERE b.status = 'DELIVERED' AND u.customerId = :customerId ORDER BY b.createdAt, b.id")
+    Stream<BookingView> streamDeliveredViewsByCustomerId(@Param("customerId") String customerId);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(VIEW_SELECT + "WHERE b.status = 'DELIVERED' ORDER BY b.createdAt, b.id")
+    Stream<BookingView> streamAllDeliveredViews();
+
+    @Query("SELECT new com.parceldelivery.dto.NotificationTarget(b.bookingId, b.receiverName, b.receiverMobile, "
+        + "u.customerName, u.email) FROM Booking b JOIN b.user u WHERE b.bookingId = :bookingId")
+    Optional<NotificationTarget> findNotificationTarget(@Param("bookingId") String bookingId);
+
+    // Bulk status transitions: read current states as projections, then move each same-state group with one
+    // guarded UPDATE. updated_at and the version are set explicitly because JPQL updates bypass @PreUpdate
+    // and optimistic locking; bumping the version makes any entity save based on an earlier read fail.
+
+    @Query("SELECT new com.parceldelivery.dto.BookingStatusRow(b.id, b.bookingId, u.customerId, b.status) "
+        + "FROM Booking b JOIN b.user u WHERE b.bookingId IN :bookingIds")
+    List<BookingStatusRow> findStatusRows(@Param("bookingIds") Collection<String> bookingIds);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :target, b.updatedAt = :now, b.version = b.version + 1 WHERE b.id IN :ids AND b.status = :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids, @Param("from") Booking.BookingStatus from,
+                         @Param("target") Booking.BookingStatus target, @Param("now") LocalDateTime now);
+
+    // Single-booking writes touch only the changed columns. The status guard is the booking's state as just read
+    // and validated: it enforces the state machine in the database and fails the update if anything moved since.
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :target, b.updatedAt = :now, b.version = b.version + 1 "
+        + "WHERE b.id = :id AND b.status = :from")
+    int updateStatusIfCurrent(@Param("id") Long id, @Param("from") Booking.BookingStatus from,
+                              @Param("target") Booking.BookingStatus target, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.parcelPickupTime = :pickupTime, b.parcelDropoffTime = :dropoffTime, "
+        + "b.updatedAt = :now, b.version = b.version + 1 WHERE b.bookingId = :bookingId AND b.status NOT IN :closed")
+    int updateSchedule(@Param("bookingId") String bookingId, @Param("pickupTime") LocalDateTime pickupTime,
+                       @Param("dropoffTime") LocalDateTime dropoffTime, @Param("now") LocalDateTime now,
+                       @Param("closed") Collection<Booking.BookingStatus> closed);
+
+    // Which of the given rows a transitionStatus call stamped, for when it matched fewer rows than expected
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids AND b.status = :target AND b.updatedAt = :now")
+    List<Long> findTransitionedIds(@Param("ids") Collection<Long> ids, @Param("target") Booking.BookingStatus target,
+                                   @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,14 @@
+package com.parceldelivery.repository;
+
+import com.parceldelivery.dto.BookingView;
+import com.parceldelivery.model.Booking;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    // Newest first (createdAt, then id), limited to one window and without a count query.
+    // Selects only the view columns, joining the customer in the same statement.
+    List<BookingView> findViewsNewestFirst(Specification<Booking> spec, int offset, int limit);
+}
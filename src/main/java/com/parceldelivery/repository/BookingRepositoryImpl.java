@@ -0,0 +1,62 @@
+package com.parceldelivery.repository;
+
+import com.parceldelivery.dto.BookingView;
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findViewsNewestFirst(Specification<Booking> spec, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> root = query.from(Booking.class);
+        Join<Booking, User> user = BookingSpecifications.userJoin(root);
+
+        query.select(cb.construct(BookingView.class,
+            root.get("id"),
+            root.get("bookingId"),
+            user.get("customerId"),
+            user.get("customerName"),
+            root.get("receiverName"),
+            root.get("receiverAddress"),
+            root.get("receiverPin"),
+            root.get("receiverMobile"),
+            root.get("parcelWeightInGram"),
+            root.get("parcelContentsDescription"),
+            root.get("parcelDeliveryType"),
+            root.get("parcelPackingPreference"),
+            root.get("parcelPickupTime"),
+            root.get("parcelDropoffTime"),
+            root.get("parcelServiceCost"),
+            root.get("parcelPaymentTime"),
+            root.get("status"),
+            root.get("bookedByOfficer"),
+            root.get("createdAt"),
+            root.get("updatedAt")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+            .setFirstResult(offset)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.parceldelivery.repository;
+
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Builds booking search predicates from only the filters actually supplied, so Derby can pick an index
+public final class BookingSpecifications {
+
+    // Full generated identifiers (see EntityIds) are matched exactly, anything shorter as a prefix
+    private static final Pattern FULL_BOOKING_ID = Pattern.compile("BK[0-9A-Z]{13}");
+    private static final Pattern FULL_CUSTOMER_ID = Pattern.compile("CUST[0-9A-Z]{13}");
+
+    private BookingSpecifications() {}
+
+    public static Specification<Booking> withFilters(User user, String customerId, String bookingId,
+                                                     Booking.BookingStatus status,
+                                                     LocalDateTime startDate, LocalDateTime endDate) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (user != null) {
+                predicates.add(cb.equal(root.get("user"), user));
+            }
+            if (hasText(customerId)) {
+                predicates.add(identifierMatch(cb, userJoin(root).get("customerId"), normalizeIdentifier(customerId), FULL_CUSTOMER_ID));
+            }
+            if (hasText(bookingId)) {
+                predicates.add(identifierMatch(cb, root.get("bookingId"), normalizeIdentifier(bookingId), FULL_BOOKING_ID));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Booking> hasBookingId(String bookingId) {
+        return (root, query, cb) -> cb.equal(root.get("bookingId"), bookingId);
+    }
+
+    public static Specification<Booking> bookingIdIn(Collection<String> bookingIds) {
+        return (root, query, cb) -> root.get("bookingId").in(bookingIds);
+    }
+
+    public static Specification<Booking> idBetween(long fromInclusive, long toInclusive) {
+        return (root, query, cb) -> cb.between(root.get("id"), fromInclusive, toInclusive);
+    }
+
+    // Reuses an existing join to the customer so projections and filters share one join
+    @SuppressWarnings("unchecked")
+    public static Join<Booking, User> userJoin(Root<Booking> root) {
+        return root.getJoins().stream()
+            .filter(join -> join.getAttribute().getName().equals("user"))
+            .map(join -> (Join<Booking, User>) join)
+            .findFirst()
+            .orElseGet(() -> root.join("user", JoinType.INNER));
+    }
+
+    // Keyset predicate: rows strictly after (createdAt, id) in newest-first order
+    public static Specification<Booking> olderThan(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+            cb.lessThan(root.get("createdAt"), createdAt),
+            cb.and(
+                cb.equal(root.get("createdAt"), createdAt),
+                cb.lessThan(root.get("id"), id)));
+    }
+
+    // The value an identifier filter is matched with; generated identifiers are upper case, so input is too.
+    // Anything keyed on a filter (such as cached counts) must use this, so equal keys mean equal predicates.
+    public static String normalizeIdentifier(String value) {
+        return value == null || value.isBlank() ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static Predicate identifierMatch(CriteriaBuilder cb, Expression<String> path, String normalized, Pattern fullId) {
+        if (fullId.matcher(normalized).matches()) {
+            return cb.equal(path, normalized);
+        }
+        // Anchored prefix (no leading wildcard) keeps the unique index on the column usable
+        return cb.like(path, escapeLike(normalized) + "%", '\\');
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
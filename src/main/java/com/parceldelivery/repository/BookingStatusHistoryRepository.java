@@ -0,0 +1,9 @@
+package com.parceldelivery.repository;
+
+import com.parceldelivery.model.BookingStatusHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BookingStatusHistoryRepository extends JpaRepository<BookingStatusHistory, Long> {
+}
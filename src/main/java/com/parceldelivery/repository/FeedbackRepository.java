@@ -1,14 +1,19 @@
 package com.parceldelivery.repository;
 
+import com.parceldelivery.dto.FeedbackView;
 import com.parceldelivery.model.Booking;
 import com.parceldelivery.model.Feedback;
 import com.parceldelivery.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
@@ -21,4 +26,14 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     List<Feedback> findAllFeedbackForDeliveredParcels();
     
     boolean existsByBooking(Booking booking);
+
+    // Streaming variant of findAllFeedbackForDeliveredParcels; consume inside a read-only transaction and close
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = BookingRepository.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.parceldelivery.dto.FeedbackView(b.bookingId, u.customerId, u.customerName, "
+        + "f.rating, f.feedbackDescription, f.feedbackDate) "
+        + "FROM Feedback f JOIN f.booking b JOIN f.user u WHERE b.status = 'DELIVERED' ORDER BY f.feedbackDate DESC")
+    Stream<FeedbackView> streamFeedbackForDeliveredParcels();
 }
\ No newline at end of file
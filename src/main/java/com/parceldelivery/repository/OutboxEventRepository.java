@@ -0,0 +1,27 @@
+package com.parceldelivery.repository;
+
+import com.parceldelivery.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Next events for one sink, oldest first; only rows older than the settle cutoff are eligible
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId AND e.createdAt < :settledBefore ORDER BY e.id")
+    List<OutboxEvent> findDeliverable(@Param("afterId") Long afterId,
+                                      @Param("settledBefore") LocalDateTime settledBefore, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id <= :upToId AND e.createdAt < :before")
+    int deleteDelivered(@Param("upToId") Long upToId, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,9 @@
+package com.parceldelivery.repository;
+
+import com.parceldelivery.model.OutboxSinkOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxSinkOffsetRepository extends JpaRepository<OutboxSinkOffset, String> {
+}
@@ -0,0 +1,11 @@
+package com.parceldelivery.security;
+
+import com.parceldelivery.model.User;
+
+// Identity carried by every authentication principal, whether or not the User row was loaded
+public interface AuthenticatedUser {
+
+    String getCustomerId();
+
+    User.Role getRole();
+}
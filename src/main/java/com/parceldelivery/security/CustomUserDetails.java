@@ -8,7 +8,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.Collections;
 
-public class CustomUserDetails implements UserDetails {
+public class CustomUserDetails implements UserDetails, AuthenticatedUser {
 
     private final User user;
 
@@ -50,13 +50,18 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return true;
+        return user.isEnabled();
     }
 
     public User getUser() {
         return user;
     }
 
+    @Override
+    public String getCustomerId() {
+        return user.getCustomerId();
+    }
+
     public String getEmail() {
         return user.getEmail();
     }
@@ -65,6 +70,7 @@ public class CustomUserDetails implements UserDetails {
         return user.getCustomerName();
     }
 
+    @Override
     public User.Role getRole() {
         return user.getRole();
     }
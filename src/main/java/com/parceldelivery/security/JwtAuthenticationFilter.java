@@ -1,11 +1,13 @@
 package com.parceldelivery.security;
 
-import com.parceldelivery.util.JwtUtil;
+import com.parceldelivery.util.JwtVerifier;
+import com.parceldelivery.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,7 +26,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private UserDetailsService userDetailsService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private JwtVerifier jwtVerifier;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    // When enabled the principal is built from the token claims without a database lookup
+    @Value("${app.security.stateless-auth:false}")
+    private boolean statelessAuth;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -33,28 +43,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String username = null;
         String jwtToken = null;
+        VerifiedToken token = null;
 
         // JWT Token is in the form "Bearer token". Remove Bearer word and get only the Token
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             jwtToken = requestTokenHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwtToken);
-            } catch (IllegalArgumentException e) {
-                logger.error("Unable to get JWT Token");
-            } catch (Exception e) {
-                logger.error("JWT Token has expired");
+            // Signature and expiry are checked once here; repeat tokens are served from the verifier cache
+            Optional<VerifiedToken> verifiedToken = jwtVerifier.verify(jwtToken);
+            if (verifiedToken.isPresent()) {
+                token = verifiedToken.get();
+                username = token.subject();
+            } else {
+                logger.error("JWT Token is invalid or has expired");
             }
         } else {
             logger.warn("JWT Token does not begin with Bearer String");
         }
 
+        // Tokens issued before the customer was revoked (disabled, role changed) are rejected
+        if (username != null && tokenRevocationList.isRevoked(username, token.issuedAtMillis())) {
+            logger.warn("JWT Token has been revoked");
+            username = null;
+        }
+
         // Once we get the token validate it.
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = loadUserDetails(token);
 
-            // if token is valid configure Spring Security to manually set authentication
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
+            // token is already verified, so only confirm it still maps to an enabled user
+            if (userDetails != null && username.equals(userDetails.getUsername()) && userDetails.isEnabled()) {
 
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
                     new UsernamePasswordAuthenticationToken(
@@ -69,4 +87,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    // Returns null for a token whose role claim is not a known role; the request stays unauthenticated (401)
+    private UserDetails loadUserDetails(VerifiedToken token) {
+        if (!statelessAuth || token.role() == null) {
+            return userDetailsService.loadUserByUsername(token.subject());
+        }
+        try {
+            return JwtPrincipal.from(token);
+        } catch (IllegalArgumentException e) {
+            logger.warn("JWT Token has an unknown role claim");
+            return null;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.parceldelivery.security;
+
+import com.parceldelivery.model.User;
+import com.parceldelivery.util.VerifiedToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+// Lightweight principal built from verified JWT claims, used in stateless authentication mode
+public class JwtPrincipal implements UserDetails, AuthenticatedUser {
+
+    private final String customerId;
+    private final User.Role role;
+
+    public JwtPrincipal(String customerId, User.Role role) {
+        this.customerId = customerId;
+        this.role = role;
+    }
+
+    // Throws IllegalArgumentException when the role claim is missing or not a known role
+    public static JwtPrincipal from(VerifiedToken token) {
+        if (token.role() == null) {
+            throw new IllegalArgumentException("Token has no role claim");
+        }
+        return new JwtPrincipal(token.subject(), User.Role.valueOf(token.role()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(
+            new SimpleGrantedAuthority("ROLE_" + role.name())
+        );
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return customerId;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    @Override
+    public User.Role getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,34 @@
+package com.parceldelivery.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Actuator endpoint to inspect the hashing pool and change the BCrypt cost without a restart
+@Component
+@Endpoint(id = "passwordhashing")
+public class PasswordHashingEndpoint {
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("strength", passwordEncoder.getStrength());
+        status.put("queueDepth", passwordEncoder.getQueueDepth());
+        status.put("activeWorkers", passwordEncoder.getActiveCount());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> updateStrength(int strength) {
+        passwordEncoder.setStrength(strength);
+        return status();
+    }
+}
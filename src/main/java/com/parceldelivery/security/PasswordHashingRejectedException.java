@@ -0,0 +1,9 @@
+package com.parceldelivery.security;
+
+// Thrown when the password hashing pool is saturated; mapped to 503 by the auth endpoints
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,95 @@
+package com.parceldelivery.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parceldelivery.config.RateLimitProperties;
+import com.parceldelivery.dto.ApiResponse;
+import com.parceldelivery.util.JwtVerifier;
+import com.parceldelivery.util.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Throttles requests per client before they reach authentication or the database
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private TokenBucketStore bucketStore;
+
+    @PostConstruct
+    public void init() {
+        bucketStore = new TokenBucketStore(TimeUnit.SECONDS.toNanos(properties.getIdleEvictionSeconds()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        if (!properties.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        List<RateLimitProperties.Rule> rules = properties.getRules();
+        for (int i = 0; i < rules.size(); i++) {
+            RateLimitProperties.Rule rule = rules.get(i);
+            if (pathMatcher.match(rule.getPattern(), path)) {
+                String key = i + ":" + clientKey(request, rule.getKey());
+                long waitNanos = bucketStore.tryAcquire(key, rule.getCapacity(), rule.getRefillPerSecond());
+                if (waitNanos > 0) {
+                    reject(response, waitNanos);
+                    return;
+                }
+                break;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String clientKey(HttpServletRequest request, RateLimitProperties.KeyType keyType) {
+        if (keyType == RateLimitProperties.KeyType.CUSTOMER) {
+            String header = request.getHeader("Authorization");
+            if (header != null && header.startsWith("Bearer ")) {
+                Optional<VerifiedToken> token = jwtVerifier.verify(header.substring(7));
+                if (token.isPresent()) {
+                    return "customer:" + token.get().subject();
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+            ApiResponse.error("Too many requests, please try again later"));
+    }
+}
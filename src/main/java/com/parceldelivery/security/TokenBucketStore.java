@@ -0,0 +1,80 @@
+package com.parceldelivery.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free token buckets stored in independent stripes; each bucket is a single CAS-updated long
+public class TokenBucketStore {
+
+    private static final int STRIPES = 16;
+    private static final int SWEEP_EVERY = 1024;
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final long idleNanos;
+    private final AtomicLong calls = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketStore(long idleNanos) {
+        this.idleNanos = idleNanos;
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    // Takes one token for the key. Each bucket is tracked as its theoretical arrival time (GCRA),
+    // equivalent to a bucket of the given capacity refilled continuously at the given rate.
+    // Returns 0 when allowed, otherwise the nanoseconds until a token becomes available.
+    public long tryAcquire(String key, int capacity, double refillPerSecond) {
+        long now = System.nanoTime();
+        long interval = (long) (1_000_000_000L / refillPerSecond);
+        long burst = interval * capacity;
+
+        ConcurrentHashMap<String, AtomicLong> stripe = stripeFor(key);
+        AtomicLong bucket = stripe.get(key);
+        if (bucket == null) {
+            AtomicLong created = new AtomicLong(now);
+            bucket = stripe.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+
+        long waitNanos;
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + interval;
+            if (newTat - now > burst) {
+                waitNanos = newTat - now - burst;
+                break;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                waitNanos = 0;
+                break;
+            }
+        }
+
+        if (calls.incrementAndGet() % SWEEP_EVERY == 0) {
+            evictIdle(now);
+        }
+        return waitNanos;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    // Sweeps one stripe per call so eviction cost is spread across requests
+    private void evictIdle(long now) {
+        int index = (int) ((calls.get() / SWEEP_EVERY) % STRIPES);
+        stripes[index].values().removeIf(bucket -> bucket.get() + idleNanos < now);
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripeFor(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+}
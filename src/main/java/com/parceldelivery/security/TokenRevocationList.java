@@ -0,0 +1,43 @@
+package com.parceldelivery.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory denylist: tokens issued to a customer before the second of the revocation are rejected.
+// JWT iat has whole seconds only, so the revocation is kept at second resolution too; otherwise a re-login in
+// the same second would carry an iat just below the revocation time and be rejected for its whole lifetime.
+// The price is that a token issued earlier in that same second stays valid.
+@Component
+public class TokenRevocationList {
+
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    private final ConcurrentHashMap<String, Long> revokedAt = new ConcurrentHashMap<>();
+
+    // Bumped on every change so callers can tell whether the list moved since they last looked
+    private final AtomicLong version = new AtomicLong();
+
+    public long revoke(String customerId) {
+        long now = System.currentTimeMillis();
+        revokedAt.put(customerId, now - now % 1000);
+        // Entries older than the token lifetime can no longer match a live token
+        revokedAt.values().removeIf(revokedTime -> revokedTime < now - expiration);
+        return version.incrementAndGet();
+    }
+
+    public boolean isRevoked(String customerId, long issuedAtMillis) {
+        if (revokedAt.isEmpty()) {
+            return false;
+        }
+        Long revokedTime = revokedAt.get(customerId);
+        return revokedTime != null && issuedAtMillis < revokedTime;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+}
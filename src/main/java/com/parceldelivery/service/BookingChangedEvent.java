@@ -0,0 +1,12 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.model.Booking;
+
+// Published by booking mutations inside their transaction; listeners react after commit
+public record BookingChangedEvent(String bookingId, String customerId, Booking.BookingStatus status, ChangeType type) {
+
+    // IMPORTED is a creation by bulk import; listeners that react per booking to creations may skip it
+    public enum ChangeType {
+        CREATED, IMPORTED, STATUS_CHANGED, SCHEDULE_CHANGED
+    }
+}
@@ -0,0 +1,80 @@
+package com.parceldelivery.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Short-lived totals for paged booking listings, keyed by the normalised filter
+@Component
+public class BookingCountCache {
+
+    private record CachedCount(long count, long generation, long expiresAtNanos) {
+
+        boolean isLive(long currentGeneration, long now) {
+            return generation == currentGeneration && expiresAtNanos - now > 0;
+        }
+    }
+
+    @Value("${app.listing.count-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.listing.count-cache.max-entries:1000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation. Entries carry the generation they were counted in and are only served
+    // while it is current, so a count that raced an invalidation into the map is never returned.
+    private final AtomicLong generation = new AtomicLong();
+
+    public long getOrCompute(String key, LongSupplier counter) {
+        long now = System.nanoTime();
+        long generationBefore = generation.get();
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.isLive(generationBefore, now)) {
+            return cached.count();
+        }
+
+        long count = counter.getAsLong();
+        if (generation.get() == generationBefore) {
+            evictIfFull(generationBefore, now);
+            counts.put(key, new CachedCount(count, generationBefore, now + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        return count;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        counts.clear();
+    }
+
+    // Drop expired and outdated entries first; if that is not enough, drop an arbitrary tenth rather than all
+    private void evictIfFull(long currentGeneration, long now) {
+        if (counts.size() < maxEntries) {
+            return;
+        }
+        counts.values().removeIf(cached -> !cached.isLive(currentGeneration, now));
+        if (counts.size() < maxEntries) {
+            return;
+        }
+        int toRemove = counts.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<String> iterator = counts.keySet().iterator();
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.type() != BookingChangedEvent.ChangeType.SCHEDULE_CHANGED) {
+            invalidateAll();
+        }
+    }
+}
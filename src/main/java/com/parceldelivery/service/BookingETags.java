@@ -0,0 +1,50 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.dto.BookingView;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Strong validators for conditional GETs on bookings.
+// A single booking's ETag comes from (bookingId, updatedAt). Listings share one version stamp that moves on
+// every committed booking change, combined with the exact request and caller, so a listing ETag only matches
+// while no booking anywhere has changed. The stamp lives in this process, which is the only writer.
+@Component
+public class BookingETags {
+
+    // Distinguishes this run's counter from earlier runs, so ETags issued before a restart never match
+    private final String instance = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+
+    private final AtomicLong version = new AtomicLong();
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    public String forBooking(BookingView booking) {
+        long updatedNanos = booking.getUpdatedAt().toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L
+            + booking.getUpdatedAt().getNano();
+        return "\"" + booking.getBookingId() + "-" + Long.toString(updatedNanos, 36) + "\"";
+    }
+
+    // updatedAt is written with the server's local clock, so read it back in the same zone
+    public long lastModified(BookingView booking) {
+        return booking.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Read the stamp before running the listing query: a change committed in between then yields a newer
+    // body under an older ETag, which can only cause an extra full response, never a stale 304
+    public String forListing(HttpServletRequest request, String caller) {
+        String shape = request.getRequestURI() + "?" + request.getQueryString() + "|" + caller;
+        String digest = DigestUtils.md5DigestAsHex(shape.getBytes(StandardCharsets.UTF_8));
+        return "\"" + instance + "." + version.get() + "-" + digest + "\"";
+    }
+}
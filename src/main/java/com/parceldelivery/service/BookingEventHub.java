@@ -0,0 +1,356 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.dto.BookingStatusEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Server-Sent Events fan-out of committed booking status changes.
+// Idle subscribers are parked async servlet requests, not threads. Each subscriber has a bounded queue drained
+// by a small shared pool; a subscriber whose queue overflows is disconnected and resumes from Last-Event-ID,
+// which is served from a ring buffer of recent events.
+// Every write to a subscriber, heartbeats included, goes through its own drain, so its emitter is only ever
+// touched by one pool thread at a time. Socket writes block, so a watchdog drops a subscriber whose write
+// outlasts app.sse.write-timeout-ms and lends the pool a thread until that write returns; a few stalled
+// clients therefore cannot starve the others' queues.
+@Component
+public class BookingEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingEventHub.class);
+
+    @Value("${app.sse.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.sse.replay-size:10000}")
+    private int replaySize;
+
+    @Value("${app.sse.dispatch-threads:2}")
+    private int dispatchThreads;
+
+    @Value("${app.sse.heartbeat-seconds:20}")
+    private long heartbeatSeconds;
+
+    @Value("${app.sse.write-timeout-ms:5000}")
+    private long writeTimeoutMs;
+
+    // Upper bound on threads lent for stalled writes; beyond it a stalled subscriber is dropped but keeps its thread
+    @Value("${app.sse.max-stalled-writes:32}")
+    private int maxStalledWrites;
+
+    // 0 keeps a stream open until the client goes away
+    @Value("${app.sse.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    // Event IDs are "<instance>-<sequence>"; an ID from an earlier run cannot be resumed and gets no replay
+    private final String instance = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+
+    private final Map<String, Set<Subscriber>> byBooking = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byCustomer = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    // Guarded by this: appends and subscriptions are ordered so a resuming client sees no gap and no duplicate
+    private BookingStatusEvent[] ring;
+    private long sequence;
+
+    private ThreadPoolExecutor dispatcher;
+    // Heartbeats and the stalled-write check only flag and schedule, so they never wait on a socket
+    private ScheduledExecutorService watchdog;
+    // Guarded by dispatcher: threads currently lent for writes the watchdog gave up on
+    private int stalledWrites;
+
+    @PostConstruct
+    public void init() {
+        ring = new BookingStatusEvent[replaySize];
+        AtomicInteger threadNumber = new AtomicInteger();
+        // The core size is raised and lowered while writes are stalled; the unbounded queue makes it the only bound
+        dispatcher = new ThreadPoolExecutor(dispatchThreads, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "booking-sse-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-sse-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        long checkMs = Math.max(writeTimeoutMs / 2, 100);
+        watchdog.scheduleWithFixedDelay(this::dropStalledWriters, checkMs, checkMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        dispatcher.shutdownNow();
+        // A subscriber mid-write would block the shutdown on its emitter; the container closes those
+        forEachSubscriber(subscriber -> {
+            if (subscriber.writeStartedNanos.get() == 0) {
+                subscriber.emitter.complete();
+            }
+        });
+    }
+
+    public SseEmitter subscribeToBooking(String bookingId, String lastEventId) {
+        return subscribe(byBooking, bookingId, lastEventId, event -> event.bookingId().equals(bookingId));
+    }
+
+    public SseEmitter subscribeToCustomer(String customerId, String lastEventId) {
+        return subscribe(byCustomer, customerId, lastEventId, event -> customerId.equals(event.customerId()));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Status changes and cancellations only; creation and schedule edits are not transitions
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent change) {
+        if (change.type() == BookingChangedEvent.ChangeType.STATUS_CHANGED) {
+            publish(change);
+        }
+    }
+
+    private synchronized void publish(BookingChangedEvent change) {
+        long next = ++sequence;
+        BookingStatusEvent event = new BookingStatusEvent(next, change.bookingId(), change.customerId(),
+            change.status(), LocalDateTime.now());
+        ring[(int) (next % replaySize)] = event;
+        offerAll(byBooking.get(change.bookingId()), event);
+        if (change.customerId() != null) {
+            offerAll(byCustomer.get(change.customerId()), event);
+        }
+    }
+
+    private SseEmitter subscribe(Map<String, Set<Subscriber>> index, String key, String lastEventId,
+                                 Predicate<BookingStatusEvent> filter) {
+        SseEmitter emitter = new SseEmitter(timeoutMinutes > 0 ? TimeUnit.MINUTES.toMillis(timeoutMinutes) : 0L);
+        Subscriber subscriber;
+        synchronized (this) {
+            List<BookingStatusEvent> replay = replayAfter(lastEventId, filter);
+            subscriber = new Subscriber(emitter, bufferSize + replay.size());
+            for (BookingStatusEvent event : replay) {
+                subscriber.queue.offer(event);
+            }
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        subscriberCount.incrementAndGet();
+
+        Runnable remove = () -> {
+            Set<Subscriber> subscribers = index.get(key);
+            if (subscribers != null && subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+                index.computeIfPresent(key, (k, set) -> set.isEmpty() ? null : set);
+            }
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+        return emitter;
+    }
+
+    private List<BookingStatusEvent> replayAfter(String lastEventId, Predicate<BookingStatusEvent> filter) {
+        List<BookingStatusEvent> replay = new ArrayList<>();
+        long after = parseSequence(lastEventId);
+        if (after < 0) {
+            return replay;
+        }
+        // Only what is still in the ring; older events have been overwritten
+        for (long seq = Math.max(after + 1, sequence - replaySize + 1); seq <= sequence; seq++) {
+            BookingStatusEvent event = ring[(int) (seq % replaySize)];
+            if (event != null && event.sequence() == seq && filter.test(event)) {
+                replay.add(event);
+            }
+        }
+        return replay;
+    }
+
+    private long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(instance + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(instance.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void offerAll(Set<Subscriber> subscribers, BookingStatusEvent event) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.dropped.get()) {
+                continue;
+            }
+            if (subscriber.queue.offer(event)) {
+                schedule(subscriber);
+            } else if (subscriber.dropped.compareAndSet(false, true)) {
+                // Slow consumer: cut it loose rather than buffer without bound; it resumes from its last ID.
+                // Its drain completes the emitter, after any write still in progress.
+                logger.debug("Dropping SSE subscriber with {} undelivered events", subscriber.queue.size());
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        if (subscriber.closed.get()) {
+            subscriber.draining.set(false);
+            return;
+        }
+        try {
+            while (!subscriber.dropped.get()) {
+                BookingStatusEvent event = subscriber.queue.poll();
+                if (event != null) {
+                    write(subscriber, SseEmitter.event()
+                        .id(instance + "-" + event.sequence())
+                        .name("status")
+                        .data(event));
+                } else if (subscriber.heartbeatDue.getAndSet(false)) {
+                    write(subscriber, SseEmitter.event().comment("heartbeat"));
+                } else {
+                    break;
+                }
+            }
+            if (subscriber.dropped.get() && subscriber.closed.compareAndSet(false, true)) {
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            if (subscriber.closed.compareAndSet(false, true)) {
+                subscriber.emitter.completeWithError(e);
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Work offered after the last poll but before the flag was cleared would otherwise wait
+        if (!subscriber.closed.get()
+            && (subscriber.dropped.get() || !subscriber.queue.isEmpty() || subscriber.heartbeatDue.get())) {
+            schedule(subscriber);
+        }
+    }
+
+    private void write(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.writeStartedNanos.set(System.nanoTime() | 1);
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.writeStartedNanos.set(0);
+            if (subscriber.lentThread.compareAndSet(true, false)) {
+                returnThread();
+            }
+        }
+    }
+
+    // A flag rather than a queued event, so a heartbeat neither overflows a full queue nor piles up behind one
+    private void heartbeat() {
+        forEachSubscriber(subscriber -> {
+            if (!subscriber.dropped.get()) {
+                subscriber.heartbeatDue.set(true);
+                schedule(subscriber);
+            }
+        });
+    }
+
+    private void dropStalledWriters() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        forEachSubscriber(subscriber -> {
+            long started = subscriber.writeStartedNanos.get();
+            if (started == 0 || now - started <= timeoutNanos || !subscriber.dropped.compareAndSet(false, true)) {
+                return;
+            }
+            // The write only returns once the container gives up on the socket; until then its thread is lost
+            // to the pool, so lend one. The drain completes the emitter when the write returns.
+            logger.debug("Dropping SSE subscriber stalled in a write for {} ms",
+                TimeUnit.NANOSECONDS.toMillis(now - started));
+            if (lendThread()) {
+                subscriber.lentThread.set(true);
+                // The write may have returned before the flag was set; its thread is then back already
+                if (subscriber.writeStartedNanos.get() != started && subscriber.lentThread.compareAndSet(true, false)) {
+                    returnThread();
+                }
+            }
+        });
+    }
+
+    private boolean lendThread() {
+        synchronized (dispatcher) {
+            if (stalledWrites >= maxStalledWrites) {
+                return false;
+            }
+            stalledWrites++;
+            dispatcher.setCorePoolSize(dispatchThreads + stalledWrites);
+            return true;
+        }
+    }
+
+    private void returnThread() {
+        synchronized (dispatcher) {
+            stalledWrites--;
+            dispatcher.setCorePoolSize(dispatchThreads + stalledWrites);
+        }
+    }
+
+    private void forEachSubscriber(Consumer<Subscriber> action) {
+        for (Set<Subscriber> subscribers : byBooking.values()) {
+            subscribers.forEach(action);
+        }
+        for (Set<Subscriber> subscribers : byCustomer.values()) {
+            subscribers.forEach(action);
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<BookingStatusEvent> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean dropped = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        // System.nanoTime() of the write in progress, forced odd so it is never 0; 0 when not writing
+        final AtomicLong writeStartedNanos = new AtomicLong();
+        final AtomicBoolean lentThread = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.dto.BookingImportJob;
+import com.parceldelivery.dto.BookingRequestDto;
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.User;
+import com.parceldelivery.repository.UserRepository;
+import com.parceldelivery.util.CsvRowReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Streams officer bulk uploads (CSV or .xlsx) into bookings on a background worker, in chunked transactions
+@Service
+public class BookingImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingImportService.class);
+
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+        "receivername", "receiveraddress", "receiverpin", "receivermobile", "parcelweightingram",
+        "parcelcontentsdescription", "parceldeliverytype", "parcelpackingpreference");
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${app.import.threads:2}")
+    private int importThreads;
+
+    // Uploads waiting for a worker; each holds a spooled temp file, so further uploads are refused (503)
+    @Value("${app.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    // Finished jobs stay pollable for this long, then their reports are dropped
+    @Value("${app.import.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    private final Map<String, BookingImportJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(importThreads, importThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "booking-import-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Spools the upload to a temp file and returns immediately; the import itself runs on the import pool.
+    // Throws RejectedExecutionException when every worker is busy and the queue is full.
+    public BookingImportJob startImport(MultipartFile file, User officer) throws IOException {
+        String fileName = Optional.ofNullable(file.getOriginalFilename()).orElse("upload");
+        String lowerName = fileName.toLowerCase(Locale.ROOT);
+        boolean xlsx = lowerName.endsWith(".xlsx");
+        if (!xlsx && !lowerName.endsWith(".csv")) {
+            throw new IllegalArgumentException("Only .csv and .xlsx files are supported");
+        }
+
+        Path spoolFile = Files.createTempFile("booking-import-", xlsx ? ".xlsx" : ".csv");
+        file.transferTo(spoolFile);
+
+        evictFinishedJobs();
+        BookingImportJob job = new BookingImportJob(UUID.randomUUID().toString(), fileName, maxReportedErrors);
+        jobs.put(job.getImportId(), job);
+        try {
+            executor.execute(() -> runImport(job, spoolFile, xlsx, officer.getId()));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getImportId());
+            deleteSpoolFile(spoolFile);
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<BookingImportJob> getImport(String importId) {
+        evictFinishedJobs();
+        return Optional.ofNullable(jobs.get(importId));
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void runImport(BookingImportJob job, Path spoolFile, boolean xlsx, Long officerId) {
+        job.markRunning();
+        ImportRun run = new ImportRun(job, officerId);
+        try {
+            if (xlsx) {
+                readXlsx(spoolFile, run);
+            } else {
+                readCsv(spoolFile, run);
+            }
+            run.flush();
+            job.markCompleted();
+        } catch (Exception e) {
+            logger.error("Booking import {} failed", job.getImportId(), e);
+            job.markFailed(e.getMessage());
+        } finally {
+            deleteSpoolFile(spoolFile);
+        }
+    }
+
+    private void deleteSpoolFile(Path spoolFile) {
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            logger.warn("Could not delete import spool file {}", spoolFile);
+        }
+    }
+
+    private void readCsv(Path file, ImportRun run) throws IOException {
+        try (CsvRowReader reader = new CsvRowReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            List<String> cells;
+            int rowNumber = 0;
+            while ((cells = reader.readRow()) != null) {
+                run.accept(++rowNumber, cells);
+            }
+        }
+    }
+
+    // SAX/event reader: only the current row is held in memory, never the whole sheet
+    private void readXlsx(Path file, ImportRun run) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            StylesTable styles = xssfReader.getStylesTable();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                    styles, strings, new SheetRowCollector(run), new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        }
+    }
+
+    private static class SheetRowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ImportRun run;
+        private final List<String> cells = new ArrayList<>();
+        private int currentColumn = -1;
+
+        SheetRowCollector(ImportRun run) {
+            this.run = run;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+            currentColumn = -1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            run.accept(rowNum + 1, new ArrayList<>(cells));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : currentColumn + 1;
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue);
+            currentColumn = column;
+        }
+    }
+
+    private record PendingRow(int rowNumber, BookingRequestDto request, Long userId) {}
+
+    // State of one import: header mapping, per-import customer cache and the current chunk
+    private class ImportRun {
+
+        private final BookingImportJob job;
+        private final Long officerId;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final Map<String, Optional<Long>> customerIds = new HashMap<>();
+        private final List<PendingRow> chunk = new ArrayList<>();
+
+        ImportRun(BookingImportJob job, Long officerId) {
+            this.job = job;
+            this.officerId = officerId;
+        }
+
+        void accept(int rowNumber, List<String> cells) {
+            if (columns.isEmpty()) {
+                readHeader(cells);
+                return;
+            }
+            if (cells.stream().allMatch(cell -> cell == null || cell.isBlank())) {
+                return;
+            }
+
+            job.rowProcessed();
+            try {
+                BookingRequestDto request = toRequest(cells);
+                Set<ConstraintViolation<BookingRequestDto>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    job.rowFailed(rowNumber, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                    return;
+                }
+                Long userId = resolveUserId(request.getCustomerId());
+                if (userId == null) {
+                    job.rowFailed(rowNumber, "Customer not found with ID: " + request.getCustomerId());
+                    return;
+                }
+                chunk.add(new PendingRow(rowNumber, request, userId));
+            } catch (IllegalArgumentException e) {
+                job.rowFailed(rowNumber, e.getMessage());
+                return;
+            }
+
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        // Each chunk is its own transaction; the persistence context is cleared so memory stays flat.
+        // If the chunk fails, its rows are retried one transaction each, so only the bad rows are reported.
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<PendingRow> rows = new ArrayList<>(chunk);
+            chunk.clear();
+            try {
+                insert(rows);
+                job.rowsImported(rows.size());
+            } catch (RuntimeException e) {
+                logger.warn("Booking import {} chunk of {} rows failed, retrying row by row: {}",
+                    job.getImportId(), rows.size(), e.getMessage());
+                for (PendingRow row : rows) {
+                    try {
+                        insert(List.of(row));
+                        job.rowsImported(1);
+                    } catch (RuntimeException rowError) {
+                        job.rowFailed(row.rowNumber(), "Insert failed: "
+                            + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                    }
+                }
+            }
+        }
+
+        private void insert(List<PendingRow> rows) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (PendingRow row : rows) {
+                    User user = entityManager.getReference(User.class, row.userId());
+                    Booking booking = bookingService.newBooking(row.request(), user, true);
+                    entityManager.persist(booking);
+                    bookingService.publishChange(booking, row.request().getCustomerId(),
+                        BookingChangedEvent.ChangeType.IMPORTED);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        private void readHeader(List<String> cells) {
+            for (int i = 0; i < cells.size(); i++) {
+                String name = cells.get(i);
+                if (name != null) {
+                    // Strip a UTF-8 byte order mark and normalise "Receiver Name" / "receiver_name" to one key
+                    String key = name.replace("\uFEFF", "").replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT);
+                    columns.put(key, i);
+                }
+            }
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("Missing required columns: " + String.join(", ", missing));
+            }
+        }
+
+        private BookingRequestDto toRequest(List<String> cells) {
+            BookingRequestDto request = new BookingRequestDto();
+            request.setCustomerId(cell(cells, "customerid"));
+            request.setReceiverName(cell(cells, "receivername"));
+            request.setReceiverAddress(cell(cells, "receiveraddress"));
+            request.setReceiverPin(cell(cells, "receiverpin"));
+            request.setReceiverMobile(cell(cells, "receivermobile"));
+            request.setParcelContentsDescription(cell(cells, "parcelcontentsdescription"));
+
+            String weight = cell(cells, "parcelweightingram");
+            if (weight != null) {
+                try {
+                    request.setParcelWeightInGram(Integer.valueOf(weight));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid parcel weight: " + weight);
+                }
+            }
+
+            String deliveryType = cell(cells, "parceldeliverytype");
+            if (deliveryType != null) {
+                request.setParcelDeliveryType(parseEnum(Booking.DeliveryType.class, deliveryType, "delivery type"));
+            }
+            String packing = cell(cells, "parcelpackingpreference");
+            if (packing != null) {
+                request.setParcelPackingPreference(parseEnum(Booking.PackingPreference.class, packing, "packing preference"));
+            }
+
+            request.setParcelPickupTime(parseDateTime(cell(cells, "parcelpickuptime"), "pickup time"));
+            request.setParcelDropoffTime(parseDateTime(cell(cells, "parceldropofftime"), "drop-off time"));
+            return request;
+        }
+
+        // Customers are looked up once per import; misses are cached too
+        private Long resolveUserId(String customerId) {
+            if (customerId == null) {
+                return officerId;
+            }
+            return customerIds.computeIfAbsent(customerId,
+                id -> userRepository.findByCustomerId(id).map(User::getId)).orElse(null);
+        }
+
+        private String cell(List<String> cells, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= cells.size()) {
+                return null;
+            }
+            String value = cells.get(index);
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            return value.trim();
+        }
+
+        private <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+            try {
+                return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_'));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid " + label + ": " + value);
+            }
+        }
+
+        private LocalDateTime parseDateTime(String value, String label) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return LocalDateTime.parse(value);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid " + label + " (expected ISO date-time): " + value);
+            }
+        }
+    }
+}
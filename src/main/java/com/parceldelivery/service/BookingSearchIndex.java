@@ -0,0 +1,370 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.dto.BookingView;
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.repository.BookingRepository;
+import com.parceldelivery.repository.BookingSpecifications;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.Lock;
+import org.apache.lucene.store.LockObtainFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Embedded Lucene index over the free-text booking fields (receiver name, address, parcel contents).
+// The index lives on local disk, is rebuilt in parallel from the database at startup and is then kept
+// current by a single indexing thread fed from committed BookingChangedEvents.
+@Component
+public class BookingSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingSearchIndex.class);
+
+    private static final String FIELD_BOOKING_ID = "bookingId";
+    private static final String FIELD_RECEIVER_NAME = "receiverName";
+    private static final String FIELD_RECEIVER_ADDRESS = "receiverAddress";
+    private static final String FIELD_CONTENTS = "parcelContents";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_CREATED_AT = "createdAt";
+
+    private static final String INSTANCE_DIR_PREFIX = "instance-";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    // Parent directory; each running instance writes its own index in a fresh subdirectory of it
+    @Value("${app.search.index-dir:${java.io.tmpdir}/parcel-booking-index}")
+    private String indexDir;
+
+    @Value("${app.search.rebuild-threads:4}")
+    private int rebuildThreads;
+
+    // Width of the primary key range each rebuild task loads in one query
+    @Value("${app.search.rebuild-batch-size:2000}")
+    private int rebuildBatchSize;
+
+    @Value("${app.search.index-batch-size:500}")
+    private int indexBatchSize;
+
+    // Deepest result position a query may page to; deeper paging should narrow the filters instead
+    @Value("${app.search.max-window:10000}")
+    private int maxWindow;
+
+    private final StandardAnalyzer analyzer = new StandardAnalyzer();
+    private final Map<String, Float> fieldWeights = Map.of(
+        FIELD_RECEIVER_NAME, 2.0f,
+        FIELD_RECEIVER_ADDRESS, 1.0f,
+        FIELD_CONTENTS, 1.0f);
+
+    // Booking IDs changed since they were last indexed; duplicates collapse within a batch
+    private final LinkedBlockingQueue<String> pending = new LinkedBlockingQueue<>();
+
+    private Path instanceDir;
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private Thread indexer;
+    private volatile boolean running = true;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() throws IOException {
+        // Instances sharing the parent (same host, same tmp volume) would otherwise fight over Lucene's write lock
+        Path parent = Files.createDirectories(Path.of(indexDir));
+        removeAbandonedIndexes(parent);
+        instanceDir = Files.createTempDirectory(parent, INSTANCE_DIR_PREFIX);
+        directory = FSDirectory.open(instanceDir);
+        // The index is derived data: always start from an empty index and rebuild it from the database
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+            .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        indexer = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("Booking search index rebuild failed", e);
+            }
+            ready = true;
+            drainPending();
+        }, "booking-search-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        // Schedule changes do not touch any indexed field
+        if (event.type() != BookingChangedEvent.ChangeType.SCHEDULE_CHANGED) {
+            pending.offer(event.bookingId());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Ranked full-text search; status and creation date are applied as non-scoring filters
+    public Page<BookingView> search(String text, Booking.BookingStatus status,
+                                    LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        // In long arithmetic, so a huge page number is rejected here instead of wrapping around
+        if (pageable.getOffset() + pageable.getPageSize() > maxWindow) {
+            throw new IllegalArgumentException("Results beyond position " + maxWindow + " are not available; narrow the search");
+        }
+        int offset = (int) pageable.getOffset();
+        int window = offset + pageable.getPageSize();
+
+        Query query = buildQuery(text, status, startDate, endDate);
+        List<String> bookingIds = new ArrayList<>();
+        long totalHits;
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, window);
+                totalHits = topDocs.totalHits.value;
+                ScoreDoc[] hits = topDocs.scoreDocs;
+                for (int i = offset; i < hits.length; i++) {
+                    bookingIds.add(searcher.storedFields().document(hits[i].doc).get(FIELD_BOOKING_ID));
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (bookingIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, totalHits);
+        }
+
+        // One projection query for the page, then restore the ranking order
+        Map<String, BookingView> views = new HashMap<>();
+        for (BookingView view : bookingRepository.findViewsNewestFirst(
+                BookingSpecifications.bookingIdIn(bookingIds), 0, bookingIds.size())) {
+            views.put(view.getBookingId(), view);
+        }
+        List<BookingView> content = new ArrayList<>(bookingIds.size());
+        for (String bookingId : bookingIds) {
+            BookingView view = views.get(bookingId);
+            if (view != null) {
+                content.add(view);
+            }
+        }
+        return new PageImpl<>(content, pageable, totalHits);
+    }
+
+    private Query buildQuery(String text, Booking.BookingStatus status, LocalDateTime startDate, LocalDateTime endDate) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, fieldWeights);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+            .add(parser.parse(text), BooleanClause.Occur.MUST);
+        if (status != null) {
+            builder.add(new TermQuery(new Term(FIELD_STATUS, status.name())), BooleanClause.Occur.FILTER);
+        }
+        if (startDate != null || endDate != null) {
+            long from = startDate != null ? toEpochMillis(startDate) : Long.MIN_VALUE;
+            long to = endDate != null ? toEpochMillis(endDate) : Long.MAX_VALUE;
+            builder.add(LongPoint.newRangeQuery(FIELD_CREATED_AT, from, to), BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    // Splits the primary key range into fixed-width slices and indexes them concurrently;
+    // IndexWriter is thread-safe, so each task adds its documents directly
+    private void rebuild() throws Exception {
+        long started = System.nanoTime();
+        Long minId = bookingRepository.findMinId();
+        Long maxId = bookingRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            logger.info("Booking search index rebuilt: no bookings");
+            return;
+        }
+
+        AtomicInteger indexed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(rebuildThreads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (long start = minId; start <= maxId; start += rebuildBatchSize) {
+                long from = start;
+                long to = Math.min(start + rebuildBatchSize - 1, maxId);
+                tasks.add(pool.submit(() -> {
+                    List<BookingView> views = bookingRepository.findViewsNewestFirst(
+                        BookingSpecifications.idBetween(from, to), 0, rebuildBatchSize);
+                    for (BookingView view : views) {
+                        writer.updateDocument(new Term(FIELD_BOOKING_ID, view.getBookingId()), toDocument(view));
+                    }
+                    indexed.addAndGet(views.size());
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        writer.commit();
+        searcherManager.maybeRefresh();
+        logger.info("Booking search index rebuilt: {} bookings in {} ms",
+            indexed.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void drainPending() {
+        while (running) {
+            try {
+                String first = pending.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                Set<String> batch = new LinkedHashSet<>();
+                batch.add(first);
+                List<String> more = new ArrayList<>();
+                pending.drainTo(more, indexBatchSize - 1);
+                batch.addAll(more);
+                indexBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Booking search index update failed", e);
+            }
+        }
+    }
+
+    private void indexBatch(Set<String> bookingIds) throws IOException {
+        List<BookingView> views = bookingRepository.findViewsNewestFirst(
+            BookingSpecifications.bookingIdIn(bookingIds), 0, bookingIds.size());
+        for (BookingView view : views) {
+            writer.updateDocument(new Term(FIELD_BOOKING_ID, view.getBookingId()), toDocument(view));
+        }
+        // Near-real-time reader: visible to searches without a full commit
+        searcherManager.maybeRefresh();
+    }
+
+    private Document toDocument(BookingView view) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_BOOKING_ID, view.getBookingId(), Field.Store.YES));
+        document.add(new TextField(FIELD_RECEIVER_NAME, nullToEmpty(view.getReceiverName()), Field.Store.NO));
+        document.add(new TextField(FIELD_RECEIVER_ADDRESS, nullToEmpty(view.getReceiverAddress()), Field.Store.NO));
+        document.add(new TextField(FIELD_CONTENTS, nullToEmpty(view.getParcelContentsDescription()), Field.Store.NO));
+        document.add(new StringField(FIELD_STATUS, view.getStatus().name(), Field.Store.NO));
+        if (view.getCreatedAt() != null) {
+            document.add(new LongPoint(FIELD_CREATED_AT, toEpochMillis(view.getCreatedAt())));
+        }
+        return document;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        // Let the indexer notice the flag instead of interrupting it: an interrupt during I/O closes Lucene's channels
+        running = false;
+        if (indexer != null) {
+            indexer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        deleteRecursively(instanceDir);
+    }
+
+    // Indexes left behind by instances that died without shutting down. Lucene's native write lock is released
+    // by the OS when its process exits, so a lock we can take belongs to nobody; fresh directories are skipped
+    // because their instance may not have opened its writer yet.
+    private void removeAbandonedIndexes(Path parent) {
+        FileTime cutoff = FileTime.from(Instant.now().minusSeconds(60));
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(parent, INSTANCE_DIR_PREFIX + "*")) {
+            for (Path dir : dirs) {
+                if (Files.getLastModifiedTime(dir).compareTo(cutoff) > 0) {
+                    continue;
+                }
+                try (Directory abandoned = FSDirectory.open(dir);
+                     Lock lock = abandoned.obtainLock(IndexWriter.WRITE_LOCK_NAME)) {
+                    lock.ensureValid();
+                } catch (LockObtainFailedException e) {
+                    continue;
+                }
+                deleteRecursively(dir);
+                logger.info("Removed abandoned booking search index {}", dir);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not clean up abandoned booking search indexes in {}", parent, e);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
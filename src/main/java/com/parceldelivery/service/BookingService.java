@@ -1,30 +1,66 @@
 package com.parceldelivery.service;
 
+import com.parceldelivery.dto.BookingCursor;
 import com.parceldelivery.dto.BookingRequestDto;
+import com.parceldelivery.dto.BookingView;
+import com.parceldelivery.dto.CountMode;
+import com.parceldelivery.dto.CursorPage;
 import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.BookingStatusHistory;
 import com.parceldelivery.model.User;
 import com.parceldelivery.repository.BookingRepository;
+import com.parceldelivery.repository.BookingSpecifications;
+import com.parceldelivery.repository.BookingStatusHistoryRepository;
 import com.parceldelivery.repository.UserRepository;
+import com.parceldelivery.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class BookingService {
 
+    // Bookings whose schedule can no longer change
+    private static final Set<Booking.BookingStatus> CLOSED_STATUSES =
+        EnumSet.of(Booking.BookingStatus.DELIVERED, Booking.BookingStatus.CANCELLED);
+
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BookingCountCache bookingCountCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private BookingTrackingCache bookingTrackingCache;
+
+    @Autowired
+    private BookingStatusHistoryRepository bookingStatusHistoryRepository;
+
     public Booking createBooking(BookingRequestDto bookingRequest, User user, boolean isOfficerBooking) {
         User bookingUser = user;
         
@@ -38,6 +74,13 @@ public class BookingService {
             }
         }
 
+        Booking booking = bookingRepository.save(newBooking(bookingRequest, bookingUser, isOfficerBooking));
+        publishChange(booking, BookingChangedEvent.ChangeType.CREATED);
+        return booking;
+    }
+
+    // Maps a validated request onto a new, unsaved booking; shared with the bulk import
+    public Booking newBooking(BookingRequestDto bookingRequest, User bookingUser, boolean isOfficerBooking) {
         Booking booking = new Booking();
         booking.setUser(bookingUser);
         booking.setReceiverName(bookingRequest.getReceiverName());
@@ -51,9 +94,11 @@ public class BookingService {
         booking.setParcelPickupTime(bookingRequest.getParcelPickupTime());
         booking.setParcelDropoffTime(bookingRequest.getParcelDropoffTime());
         booking.setBookedByOfficer(isOfficerBooking);
+        booking.setParcelServiceCost(pricingEngine.quote(bookingRequest.getReceiverPin(),
+            bookingRequest.getParcelWeightInGram(), bookingRequest.getParcelDeliveryType(),
+            bookingRequest.getParcelPackingPreference(), isOfficerBooking));
         booking.setStatus(Booking.BookingStatus.NEW);
-
-        return bookingRepository.save(booking);
+        return booking;
     }
 
     public Optional<Booking> getBookingById(String bookingId) {
@@ -72,66 +117,115 @@ public class BookingService {
         return bookingRepository.findAllByOrderByCreatedAtDesc(pageable);
     }
 
-    public Page<Booking> getBookingsWithFilters(User user, String bookingId, 
-                                              Booking.BookingStatus status, 
-                                              LocalDateTime startDate, 
-                                              LocalDateTime endDate, 
-                                              Pageable pageable) {
-        return bookingRepository.findBookingsWithFilters(user, bookingId, status, startDate, endDate, pageable);
+    public Slice<BookingView> getBookingsWithFilters(User user, String bookingId, 
+                                                   Booking.BookingStatus status, 
+                                               LocalDateTime startDate, 
+                                               LocalDateTime endDate, 
+                                               Pageable pageable,
+                                               CountMode countMode) {
+        Specification<Booking> spec = BookingSpecifications.withFilters(user, null, bookingId, status, startDate, endDate);
+        String countKey = countKey(user, null, bookingId, status, startDate, endDate);
+        return findPage(spec, countKey, pageable, countMode);
     }
 
-    public Page<Booking> getAllBookingsWithFilters(String customerId, String bookingId, 
-                                                  Booking.BookingStatus status, 
-                                                  LocalDateTime startDate, 
-                                                  LocalDateTime endDate, 
-                                                  Pageable pageable) {
-        return bookingRepository.findAllBookingsWithFilters(customerId, bookingId, status, startDate, endDate, pageable);
+    public Slice<BookingView> getAllBookingsWithFilters(String customerId, String bookingId, 
+                                                       Booking.BookingStatus status, 
+                                                   LocalDateTime startDate, 
+                                                   LocalDateTime endDate, 
+                                                   Pageable pageable,
+                                                   CountMode countMode) {
+        Specification<Booking> spec = BookingSpecifications.withFilters(null, customerId, bookingId, status, startDate, endDate);
+        String countKey = countKey(null, customerId, bookingId, status, startDate, endDate);
+        return findPage(spec, countKey, pageable, countMode);
     }
 
-    public Booking updateBookingStatus(String bookingId, Booking.BookingStatus status) {
-        Optional<Booking> bookingOpt = bookingRepository.findByBookingId(bookingId);
-        if (bookingOpt.isPresent()) {
-            Booking booking = bookingOpt.get();
-            booking.setStatus(status);
-            return bookingRepository.save(booking);
+    // Keyset pagination: seeks past the cursor instead of skipping rows, so deep pages cost the same as page one
+    public CursorPage<BookingView> scrollBookingsWithFilters(User user, String customerId, String bookingId,
+                                                        Booking.BookingStatus status,
+                                                        LocalDateTime startDate,
+                                                        LocalDateTime endDate,
+                                                        String cursor, int size) {
+        Specification<Booking> spec = BookingSpecifications.withFilters(user, customerId, bookingId, status, startDate, endDate);
+        if (cursor != null && !cursor.isBlank()) {
+            BookingCursor position = BookingCursor.decode(cursor);
+            spec = spec.and(BookingSpecifications.olderThan(position.createdAt(), position.id()));
         }
-        throw new RuntimeException("Booking not found with ID: " + bookingId);
+
+        // One extra row tells us whether another page exists without a count query
+        List<BookingView> rows = bookingRepository.findViewsNewestFirst(spec, 0, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<BookingView> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            BookingView last = content.get(content.size() - 1);
+            nextCursor = new BookingCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(content, hasMore, nextCursor);
     }
 
-    public Booking updatePickupAndDropoffTime(String bookingId, LocalDateTime pickupTime, LocalDateTime dropoffTime) {
-        Optional<Booking> bookingOpt = bookingRepository.findByBookingId(bookingId);
+    // Status, schedule and cancel changes are single guarded UPDATEs; the booking is read as a projection and
+    // never loaded as an entity, so there is no dirty check and no lazy User to fetch
+    public BookingView updateBookingStatus(String bookingId, Booking.BookingStatus status, String changedBy) {
+        Optional<BookingView> bookingOpt = findView(bookingId);
         if (bookingOpt.isPresent()) {
-            Booking booking = bookingOpt.get();
-            booking.setParcelPickupTime(pickupTime);
-            booking.setParcelDropoffTime(dropoffTime);
-            return bookingRepository.save(booking);
+            BookingView booking = bookingOpt.get();
+            if (!booking.getStatus().canTransitionTo(status)) {
+                throw new IllegalArgumentException("Cannot move booking from " + booking.getStatus() + " to " + status);
+            }
+            return transition(booking, status, changedBy);
         }
         throw new RuntimeException("Booking not found with ID: " + bookingId);
     }
 
+    public BookingView updatePickupAndDropoffTime(String bookingId, LocalDateTime pickupTime, LocalDateTime dropoffTime) {
+        int updated = bookingRepository.updateSchedule(bookingId, pickupTime, dropoffTime, LocalDateTime.now(), CLOSED_STATUSES);
+        Optional<BookingView> bookingOpt = findView(bookingId);
+        if (bookingOpt.isEmpty()) {
+            throw new RuntimeException("Booking not found with ID: " + bookingId);
+        }
+        BookingView booking = bookingOpt.get();
+        if (updated == 0) {
+            throw new RuntimeException("Cannot reschedule booking that is already " + booking.getStatus());
+        }
+        publishChange(booking.getBookingId(), booking.getCustomerId(), booking.getStatus(),
+            BookingChangedEvent.ChangeType.SCHEDULE_CHANGED);
+        return booking;
+    }
+
     public boolean cancelBooking(String bookingId, User user) {
-        Optional<Booking> bookingOpt = bookingRepository.findByBookingId(bookingId);
+        Optional<BookingView> bookingOpt = findView(bookingId);
         if (bookingOpt.isPresent()) {
-            Booking booking = bookingOpt.get();
+            BookingView booking = bookingOpt.get();
             
             // Check if booking belongs to user (for customer) or allow all (for officer)
-            if (user.getRole() == User.Role.CUSTOMER && !booking.getUser().equals(user)) {
+            if (user.getRole() == User.Role.CUSTOMER && !booking.getCustomerId().equals(user.getCustomerId())) {
                 throw new RuntimeException("You can only cancel your own bookings");
             }
             
             // Check if booking can be cancelled
-            if (booking.getStatus() == Booking.BookingStatus.DELIVERED || 
-                booking.getStatus() == Booking.BookingStatus.IN_TRANSIT) {
-                throw new RuntimeException("Cannot cancel booking that is already delivered or in transit");
+            if (!booking.getStatus().canTransitionTo(Booking.BookingStatus.CANCELLED)) {
+                throw new RuntimeException("Cannot cancel booking that is already delivered, in transit or cancelled");
             }
             
-            booking.setStatus(Booking.BookingStatus.CANCELLED);
-            bookingRepository.save(booking);
+            transition(booking, Booking.BookingStatus.CANCELLED, user.getCustomerId());
             return true;
         }
         throw new RuntimeException("Booking not found with ID: " + bookingId);
     }
 
+    // Guarded on the status just read: a change committed in between matches no row and surfaces as an
+    // optimistic-lock failure, which OptimisticLockRetry re-runs against the new state
+    private BookingView transition(BookingView booking, Booking.BookingStatus target, String changedBy) {
+        LocalDateTime now = LocalDateTime.now();
+        if (bookingRepository.updateStatusIfCurrent(booking.getId(), booking.getStatus(), target, now) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Booking.class, booking.getBookingId());
+        }
+        bookingStatusHistoryRepository.save(new BookingStatusHistory(bookingRepository.getReferenceById(booking.getId()),
+            booking.getStatus(), target, changedBy, now));
+        publishChange(booking.getBookingId(), booking.getCustomerId(), target, BookingChangedEvent.ChangeType.STATUS_CHANGED);
+        return booking.withStatus(target, now);
+    }
+
     public List<Booking> getDeliveredBookingsByUser(User user) {
         return bookingRepository.findDeliveredBookingsByUser(user);
     }
@@ -140,16 +234,65 @@ public class BookingService {
         return bookingRepository.findAllDeliveredBookings();
     }
 
-    public Optional<Booking> getBookingByIdForUser(String bookingId, User user) {
-        Optional<Booking> bookingOpt = bookingRepository.findByBookingId(bookingId);
+    // Ownership is checked against the projected customer ID, so the caller's User row is never needed.
+    // Served from the tracking cache; runs outside a transaction so callers waiting on a shared load hold no connection.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<BookingView> getBookingByIdForUser(String bookingId, AuthenticatedUser user) {
+        Optional<BookingView> bookingOpt = bookingTrackingCache.get(bookingId, this::findView);
         if (bookingOpt.isPresent()) {
-            Booking booking = bookingOpt.get();
+            BookingView booking = bookingOpt.get();
             // For customers, only return their own bookings
-            if (user.getRole() == User.Role.CUSTOMER && !booking.getUser().equals(user)) {
+            if (user.getRole() == User.Role.CUSTOMER && !booking.getCustomerId().equals(user.getCustomerId())) {
                 return Optional.empty();
             }
             return bookingOpt;
         }
         return Optional.empty();
     }
+
+    private Optional<BookingView> findView(String bookingId) {
+        return bookingRepository.findViewsNewestFirst(BookingSpecifications.hasBookingId(bookingId), 0, 1)
+            .stream()
+            .findFirst();
+    }
+
+    public void publishChange(Booking booking, BookingChangedEvent.ChangeType type) {
+        publishChange(booking, booking.getUser().getCustomerId(), type);
+    }
+
+    // For callers that hold only a reference to the customer and already know its customer ID
+    public void publishChange(Booking booking, String customerId, BookingChangedEvent.ChangeType type) {
+        publishChange(booking.getBookingId(), customerId, booking.getStatus(), type);
+    }
+
+    // For set-based updates that never load the entity
+    public void publishChange(String bookingId, String customerId, Booking.BookingStatus status,
+                              BookingChangedEvent.ChangeType type) {
+        eventPublisher.publishEvent(new BookingChangedEvent(bookingId, customerId, status, type));
+    }
+
+    // EXACT counts every time, CACHED reuses a recent count, NONE skips it; content is always one projection query
+    private Slice<BookingView> findPage(Specification<Booking> spec, String countKey, Pageable pageable, CountMode countMode) {
+        int size = pageable.getPageSize();
+        List<BookingView> rows = bookingRepository.findViewsNewestFirst(spec, (int) pageable.getOffset(), size + 1);
+        boolean hasNext = rows.size() > size;
+        List<BookingView> content = hasNext ? rows.subList(0, size) : rows;
+        if (countMode == CountMode.NONE) {
+            return new SliceImpl<>(content, pageable, hasNext);
+        }
+        long total = countMode == CountMode.EXACT
+            ? bookingRepository.count(spec)
+            : bookingCountCache.getOrCompute(countKey, () -> bookingRepository.count(spec));
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private String countKey(User user, String customerId, String bookingId, Booking.BookingStatus status,
+                            LocalDateTime startDate, LocalDateTime endDate) {
+        return "user=" + (user != null ? user.getId() : "")
+            + "|customer=" + BookingSpecifications.normalizeIdentifier(customerId)
+            + "|booking=" + BookingSpecifications.normalizeIdentifier(bookingId)
+            + "|status=" + (status != null ? status : "")
+            + "|from=" + (startDate != null ? startDate : "")
+            + "|to=" + (endDate != null ? endDate : "");
+    }
 }
\ No newline at end of file
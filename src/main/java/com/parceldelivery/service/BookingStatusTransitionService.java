@@ -0,0 +1,145 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.dto.BookingStatusRow;
+import com.parceldelivery.dto.BulkStatusTransitionResult;
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.BookingStatusHistory;
+import com.parceldelivery.repository.BookingRepository;
+import com.parceldelivery.repository.BookingStatusHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Moves many bookings to one status at a time, as hub scanners do.
+// Each batch is its own transaction: one projection query reads the current states, each group of bookings
+// sharing a current state is moved by one guarded UPDATE, and history rows go out as JDBC batches.
+// A failed batch rolls back alone and is reported per item; earlier batches stay committed.
+@Service
+public class BookingStatusTransitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatusTransitionService.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingStatusHistoryRepository bookingStatusHistoryRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.transitions.batch-size:500}")
+    private int batchSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkStatusTransitionResult transition(List<String> bookingIds, Booking.BookingStatus target, String changedBy) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(bookingIds));
+        Map<String, BulkStatusTransitionResult.Item> outcomes = new HashMap<>();
+
+        for (int start = 0; start < distinctIds.size(); start += batchSize) {
+            List<String> batch = distinctIds.subList(start, Math.min(start + batchSize, distinctIds.size()));
+            Map<String, BulkStatusTransitionResult.Item> batchOutcomes = new HashMap<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyBatch(batch, target, changedBy, batchOutcomes));
+                outcomes.putAll(batchOutcomes);
+            } catch (RuntimeException e) {
+                logger.warn("Bulk transition to {} failed for a batch of {} bookings", target, batch.size(), e);
+                for (String bookingId : batch) {
+                    outcomes.put(bookingId, new BulkStatusTransitionResult.Item(bookingId,
+                        BulkStatusTransitionResult.Outcome.FAILED, null, "Batch failed: " + e.getMessage()));
+                }
+            }
+        }
+
+        BulkStatusTransitionResult result = new BulkStatusTransitionResult(target);
+        for (String bookingId : distinctIds) {
+            result.add(outcomes.get(bookingId));
+        }
+        return result;
+    }
+
+    private void applyBatch(List<String> bookingIds, Booking.BookingStatus target, String changedBy,
+                            Map<String, BulkStatusTransitionResult.Item> outcomes) {
+        // Truncated so the stamp compares equal after a round trip through the TIMESTAMP column
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        Map<String, BookingStatusRow> rows = new HashMap<>();
+        for (BookingStatusRow row : bookingRepository.findStatusRows(bookingIds)) {
+            rows.put(row.bookingId(), row);
+        }
+
+        Map<Booking.BookingStatus, List<BookingStatusRow>> groups = new EnumMap<>(Booking.BookingStatus.class);
+        for (String bookingId : bookingIds) {
+            BookingStatusRow row = rows.get(bookingId);
+            if (row == null) {
+                outcomes.put(bookingId, new BulkStatusTransitionResult.Item(bookingId,
+                    BulkStatusTransitionResult.Outcome.NOT_FOUND, null, "Booking not found"));
+            } else if (!row.status().canTransitionTo(target)) {
+                outcomes.put(bookingId, new BulkStatusTransitionResult.Item(bookingId,
+                    BulkStatusTransitionResult.Outcome.INVALID_TRANSITION, row.status(),
+                    "Cannot move booking from " + row.status() + " to " + target));
+            } else {
+                groups.computeIfAbsent(row.status(), status -> new ArrayList<>()).add(row);
+            }
+        }
+
+        List<BookingStatusHistory> history = new ArrayList<>();
+        for (Map.Entry<Booking.BookingStatus, List<BookingStatusRow>> group : groups.entrySet()) {
+            Booking.BookingStatus from = group.getKey();
+            List<Long> ids = group.getValue().stream().map(BookingStatusRow::id).toList();
+            int updated = bookingRepository.transitionStatus(ids, from, target, now);
+
+            // Fewer rows than read means another transaction moved some first; find out which ones we got
+            Set<Long> applied = updated == ids.size() ? null
+                : new HashSet<>(bookingRepository.findTransitionedIds(ids, target, now));
+
+            for (BookingStatusRow row : group.getValue()) {
+                if (applied != null && !applied.contains(row.id())) {
+                    outcomes.put(row.bookingId(), new BulkStatusTransitionResult.Item(row.bookingId(),
+                        BulkStatusTransitionResult.Outcome.CONFLICT, from, "Status changed concurrently"));
+                    continue;
+                }
+                outcomes.put(row.bookingId(), new BulkStatusTransitionResult.Item(row.bookingId(),
+                    BulkStatusTransitionResult.Outcome.UPDATED, from, null));
+                history.add(new BookingStatusHistory(entityManager.getReference(Booking.class, row.id()),
+                    from, target, changedBy, now));
+                bookingService.publishChange(row.bookingId(), row.customerId(), target,
+                    BookingChangedEvent.ChangeType.STATUS_CHANGED);
+            }
+        }
+
+        bookingStatusHistoryRepository.saveAll(history);
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
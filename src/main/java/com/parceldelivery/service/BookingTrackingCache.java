@@ -0,0 +1,141 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.dto.BookingView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Near-cache of booking tracking snapshots keyed by booking ID.
+// The first miss for an ID installs a pending future and loads it; concurrent callers for the same ID wait on
+// that future instead of querying again. Committed booking changes remove the entry, so a load that was
+// already running when the change committed can never be served afterwards.
+@Component
+public class BookingTrackingCache {
+
+    private record Entry(CompletableFuture<Optional<BookingView>> value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return expiresAtNanos - now <= 0;
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.tracking-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.tracking-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${app.tracking-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private Counter hits;
+    private Counter misses;
+    private Counter coalesced;
+    private Timer loadTimer;
+
+    @PostConstruct
+    public void init() {
+        hits = meterRegistry.counter("booking.tracking.cache.requests", "result", "hit");
+        misses = meterRegistry.counter("booking.tracking.cache.requests", "result", "miss");
+        coalesced = meterRegistry.counter("booking.tracking.cache.requests", "result", "coalesced");
+        loadTimer = meterRegistry.timer("booking.tracking.cache.load");
+        Gauge.builder("booking.tracking.cache.size", entries, Map::size).register(meterRegistry);
+        // Waiting on an in-flight load counts as a hit: it cost no query of its own
+        Gauge.builder("booking.tracking.cache.hit.ratio", this, cache -> cache.hitRatio()).register(meterRegistry);
+    }
+
+    public Optional<BookingView> get(String bookingId, Function<String, Optional<BookingView>> loader) {
+        if (!enabled) {
+            return loader.apply(bookingId);
+        }
+
+        long now = System.nanoTime();
+        Entry candidate = new Entry(new CompletableFuture<>(), now + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        Entry entry = entries.compute(bookingId,
+            (key, current) -> current != null && !current.isExpired(now) ? current : candidate);
+
+        if (entry != candidate) {
+            (entry.value().isDone() ? hits : coalesced).increment();
+            return join(entry.value());
+        }
+
+        misses.increment();
+        evictIfFull();
+        long started = System.nanoTime();
+        try {
+            Optional<BookingView> loaded = loader.apply(bookingId);
+            candidate.value().complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            // Do not cache failures: waiters see this error, the next caller retries
+            entries.remove(bookingId, candidate);
+            candidate.value().completeExceptionally(e);
+            throw e;
+        } finally {
+            loadTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void invalidate(String bookingId) {
+        entries.remove(bookingId);
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        invalidate(event.bookingId());
+    }
+
+    private double hitRatio() {
+        double served = hits.count() + coalesced.count();
+        double total = served + misses.count();
+        return total == 0 ? 0 : served / total;
+    }
+
+    // Drop expired entries first; if that is not enough, drop an arbitrary tenth rather than the whole cache
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.value().isDone() && entry.isExpired(now));
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        int toRemove = entries.size() - maxEntries + maxEntries / 10;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static Optional<BookingView> join(CompletableFuture<Optional<BookingView>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
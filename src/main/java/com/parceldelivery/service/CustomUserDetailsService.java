@@ -2,15 +2,18 @@ package com.parceldelivery.service;
 
 import com.parceldelivery.model.User;
 import com.parceldelivery.repository.UserRepository;
+import com.parceldelivery.security.AuthenticatedUser;
 import com.parceldelivery.security.CustomUserDetails;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -22,4 +25,26 @@ public class CustomUserDetailsService implements UserDetailsService {
         
         return new CustomUserDetails(user);
     }
+
+    // Called by the authentication provider after a successful login when the stored hash uses an outdated BCrypt cost
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByCustomerId(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with customer ID: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        return new CustomUserDetails(userRepository.save(user));
+    }
+
+    // Returns the full User for the current principal, loading it only for stateless (claims-only) principals
+    public User loadCurrentUser(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof CustomUserDetails customUserDetails) {
+            return customUserDetails.getUser();
+        }
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return userRepository.findByCustomerId(authenticatedUser.getCustomerId())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with customer ID: " + authenticatedUser.getCustomerId()));
+        }
+        throw new UsernameNotFoundException("No authenticated user");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.parceldelivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parceldelivery.dto.BookingView;
+import com.parceldelivery.dto.FeedbackView;
+import com.parceldelivery.repository.BookingRepository;
+import com.parceldelivery.repository.FeedbackRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Writes full delivery history as NDJSON (one JSON object per line) straight from a database cursor.
+// Rows are projections, so heap use stays flat no matter how many rows the feed covers.
+@Service
+@Transactional(readOnly = true)
+public class DeliveryFeedService {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.feed.flush-every:500}")
+    private int flushEvery;
+
+    public long writeDeliveredBookings(String customerId, OutputStream out) throws IOException {
+        try (Stream<BookingView> rows = customerId != null
+                ? bookingRepository.streamDeliveredViewsByCustomerId(customerId)
+                : bookingRepository.streamAllDeliveredViews()) {
+            return writeNdjson(rows, out);
+        }
+    }
+
+    public long writeDeliveredFeedback(OutputStream out) throws IOException {
+        try (Stream<FeedbackView> rows = feedbackRepository.streamFeedbackForDeliveredParcels()) {
+            return writeNdjson(rows, out);
+        }
+    }
+
+    private <T> long writeNdjson(Stream<T> rows, OutputStream out) throws IOException {
+        long written = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            out.write(objectMapper.writeValueAsBytes(iterator.next()));
+            out.write('\n');
+            // Push a chunk to the client regularly so it can start processing before the feed ends
+            if (++written % flushEvery == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+        return written;
+    }
+}
@@ -0,0 +1,63 @@
+package com.parceldelivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parceldelivery.model.OutboxEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// POSTs each batch as a JSON array to a webhook; any non-2xx answer fails the batch so it is retried
+@Component
+@ConditionalOnProperty(name = "app.outbox.http.url")
+public class HttpOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.outbox.http.url}")
+    private String url;
+
+    @Value("${app.outbox.http.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(timeoutMs)).build();
+    }
+
+    @Override
+    public String getName() {
+        return "http";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) throws IOException, InterruptedException {
+        List<Map<String, Object>> messages = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            messages.add(OutboxMessages.toMessage(objectMapper, event));
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofMillis(timeoutMs))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(messages)))
+            .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Outbox webhook " + url + " answered " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.parceldelivery.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Local stand-in for real gateways: logs every message instead of sending it
+@Component
+@ConditionalOnProperty(name = "app.notifications.log-provider.enabled", havingValue = "true", matchIfMissing = true)
+public class LoggingNotificationProvider implements NotificationProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingNotificationProvider.class);
+
+    private final AtomicLong sent = new AtomicLong();
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public boolean supports(Channel channel) {
+        return true;
+    }
+
+    @Override
+    public void send(Message message) {
+        sent.incrementAndGet();
+        logger.info("{} to {} about booking {}: {}", message.channel(), message.recipient(), message.bookingId(),
+            message.body());
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+}
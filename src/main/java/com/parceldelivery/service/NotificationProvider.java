@@ -0,0 +1,21 @@
+package com.parceldelivery.service;
+
+// SPI for outbound SMS and e-mail gateways. Implementations are Spring beans; the first one supporting a
+// channel carries all of that channel's traffic. send() may block and should throw on any failure so the
+// message is retried.
+public interface NotificationProvider {
+
+    enum Channel {
+        SMS, EMAIL
+    }
+
+    record Message(Channel channel, String recipient, String subject, String body, String bookingId) {
+    }
+
+    // Key for per-provider settings: app.notifications.providers.<name>.max-concurrency
+    String getName();
+
+    boolean supports(Channel channel);
+
+    void send(Message message) throws Exception;
+}
@@ -0,0 +1,251 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.dto.NotificationTarget;
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.repository.BookingRepository;
+import com.parceldelivery.util.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// SMS to the receiver and e-mail to the customer when a booking is created or changes status.
+// The commit only records the booking's latest status in a pending map; the first change starts a coalescing
+// window and whatever status is current when it closes is the one sent, so a burst of scans becomes one
+// message. Sends run on virtual threads where available, each provider behind its own semaphore.
+// Bookings created by a bulk import are not announced: the importing officer has the file, and one message
+// per row would fill the pending map in a single commit.
+@Component
+public class NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    private record ProviderSlot(NotificationProvider provider, Semaphore permits) {
+    }
+
+    private enum Admission { SCHEDULED, COALESCED, DROPPED }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired(required = false)
+    private List<NotificationProvider> providers = List.of();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.notifications.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notifications.coalesce-ms:2000}")
+    private long coalesceMs;
+
+    // Bookings waiting for their window to close; changes beyond this are dropped and counted
+    @Value("${app.notifications.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${app.notifications.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.notifications.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    // Concurrent sends per provider, unless app.notifications.providers.<name>.max-concurrency says otherwise
+    @Value("${app.notifications.max-concurrency:8}")
+    private int defaultMaxConcurrency;
+
+    // Worker pool size when the runtime has no virtual threads
+    @Value("${app.notifications.fallback-threads:8}")
+    private int fallbackThreads;
+
+    private final ConcurrentHashMap<String, Booking.BookingStatus> pending = new ConcurrentHashMap<>();
+    // Slots taken in pending; reserved inside compute, so concurrent commits cannot overshoot maxPending
+    private final AtomicInteger pendingSlots = new AtomicInteger();
+    private final Map<NotificationProvider.Channel, ProviderSlot> slots = new EnumMap<>(NotificationProvider.Channel.class);
+
+    private ScheduledExecutorService coalescer;
+    private ExecutorService workers;
+
+    private Counter sent;
+    private Counter failed;
+    private Counter coalesced;
+    private Counter dropped;
+
+    @PostConstruct
+    public void init() {
+        sent = meterRegistry.counter("notifications", "result", "sent");
+        failed = meterRegistry.counter("notifications", "result", "failed");
+        coalesced = meterRegistry.counter("notifications", "result", "coalesced");
+        dropped = meterRegistry.counter("notifications", "result", "dropped");
+        Gauge.builder("notifications.pending", pending, Map::size).register(meterRegistry);
+
+        Map<String, ProviderSlot> byName = new ConcurrentHashMap<>();
+        for (NotificationProvider.Channel channel : NotificationProvider.Channel.values()) {
+            providers.stream().filter(provider -> provider.supports(channel)).findFirst().ifPresent(provider ->
+                slots.put(channel, byName.computeIfAbsent(provider.getName(), name -> new ProviderSlot(provider,
+                    new Semaphore(environment.getProperty("app.notifications.providers." + name + ".max-concurrency",
+                        Integer.class, defaultMaxConcurrency))))));
+        }
+
+        coalescer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        workers = VirtualThreads.newExecutor("notification-", fallbackThreads);
+        logger.info("Notifications {} via {} on {} threads", enabled ? "enabled" : "disabled", byName.keySet(),
+            VirtualThreads.isAvailable() ? "virtual" : "platform");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coalescer.shutdownNow();
+        workers.shutdown();
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (!enabled || slots.isEmpty() || event.type() == BookingChangedEvent.ChangeType.SCHEDULE_CHANGED
+                || event.type() == BookingChangedEvent.ChangeType.IMPORTED) {
+            return;
+        }
+        // Only the first change in a window schedules a send; later ones just replace the status it reports
+        Admission[] admission = new Admission[1];
+        pending.compute(event.bookingId(), (bookingId, current) -> {
+            if (current != null) {
+                admission[0] = Admission.COALESCED;
+                return event.status();
+            }
+            if (pendingSlots.incrementAndGet() > maxPending) {
+                pendingSlots.decrementAndGet();
+                admission[0] = Admission.DROPPED;
+                return null;
+            }
+            admission[0] = Admission.SCHEDULED;
+            return event.status();
+        });
+
+        switch (admission[0]) {
+            case COALESCED -> coalesced.increment();
+            case DROPPED -> dropped.increment();
+            case SCHEDULED -> {
+                try {
+                    coalescer.schedule(() -> release(event.bookingId()), coalesceMs, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down: nothing will close this window
+                    if (pending.remove(event.bookingId()) != null) {
+                        pendingSlots.decrementAndGet();
+                    }
+                    dropped.increment();
+                }
+            }
+        }
+    }
+
+    private void release(String bookingId) {
+        Booking.BookingStatus status = pending.remove(bookingId);
+        if (status == null) {
+            return;
+        }
+        pendingSlots.decrementAndGet();
+        try {
+            workers.execute(() -> notify(bookingId, status));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            logger.debug("Notification for booking {} dropped during shutdown", bookingId);
+        }
+    }
+
+    private void notify(String bookingId, Booking.BookingStatus status) {
+        try {
+            Optional<NotificationTarget> targetOpt = bookingRepository.findNotificationTarget(bookingId);
+            if (targetOpt.isEmpty()) {
+                return;
+            }
+            NotificationTarget target = targetOpt.get();
+            String state = describe(status);
+            if (target.receiverMobile() != null) {
+                deliver(new NotificationProvider.Message(NotificationProvider.Channel.SMS, target.receiverMobile(),
+                    null, "Parcel " + bookingId + " from " + target.customerName() + " is " + state + ".", bookingId));
+            }
+            if (target.customerEmail() != null) {
+                deliver(new NotificationProvider.Message(NotificationProvider.Channel.EMAIL, target.customerEmail(),
+                    "Booking " + bookingId + ": " + state,
+                    "Dear " + target.customerName() + ", your booking " + bookingId + " for " + target.receiverName()
+                        + " is " + state + ".", bookingId));
+            }
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.warn("Could not prepare notifications for booking {}", bookingId, e);
+        }
+    }
+
+    private void deliver(NotificationProvider.Message message) {
+        ProviderSlot slot = slots.get(message.channel());
+        if (slot == null) {
+            return;
+        }
+        long backoffMs = initialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                slot.permits().acquire();
+                try {
+                    slot.provider().send(message);
+                } finally {
+                    slot.permits().release();
+                }
+                sent.increment();
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.increment();
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    failed.increment();
+                    logger.warn("{} for booking {} via {} failed after {} attempts", message.channel(),
+                        message.bookingId(), slot.provider().getName(), attempt, e);
+                    return;
+                }
+            }
+            // Back off without holding a permit, so other messages keep the provider busy meanwhile
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.increment();
+                return;
+            }
+            backoffMs *= 2;
+        }
+    }
+
+    private static String describe(Booking.BookingStatus status) {
+        return status == Booking.BookingStatus.NEW ? "booked" : status.name().replace('_', ' ').toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,73 @@
+package com.parceldelivery.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Re-runs a transactional booking mutation that lost an optimistic-lock race.
+// Must wrap the transactional call from outside, so every attempt re-reads in a fresh transaction and
+// re-applies its checks against the winner's state. Backoff is exponential with full jitter and capped;
+// after the last attempt the conflict propagates and controllers answer 409.
+@Component
+public class OptimisticLockRetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetry.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.optimistic-retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.optimistic-retry.initial-backoff-ms:10}")
+    private long initialBackoffMs;
+
+    @Value("${app.optimistic-retry.max-backoff-ms:200}")
+    private long maxBackoffMs;
+
+    private Counter retries;
+    private Counter exhausted;
+
+    @PostConstruct
+    public void init() {
+        retries = meterRegistry.counter("booking.optimistic.conflicts", "result", "retried");
+        exhausted = meterRegistry.counter("booking.optimistic.conflicts", "result", "exhausted");
+    }
+
+    public <T> T run(String operation, Supplier<T> mutation) {
+        long backoffMs = initialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return mutation.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    logger.warn("{} still conflicting after {} attempts", operation, attempt);
+                    throw e;
+                }
+                retries.increment();
+                logger.debug("{} lost an optimistic-lock race, retrying (attempt {})", operation, attempt);
+                sleep(ThreadLocalRandom.current().nextLong(backoffMs + 1));
+                backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.model.OutboxEvent;
+import com.parceldelivery.model.OutboxSinkOffset;
+import com.parceldelivery.repository.OutboxEventRepository;
+import com.parceldelivery.repository.OutboxSinkOffsetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Background delivery of outbox events to every configured sink.
+// Each sink has its own stored offset (highest acknowledged event ID) and its own retry backoff, so a failing
+// sink falls behind without holding up the others. An offset only moves after the sink accepted the batch.
+// Sequence IDs are handed out before commit, so a slow transaction can commit a lower ID after a higher one;
+// events are only read once they are older than the settle window, which must exceed the longest commit.
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxSinkOffsetRepository outboxSinkOffsetRepository;
+
+    @Autowired(required = false)
+    private List<OutboxSink> sinks = List.of();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.poll-interval-ms:500}")
+    private long pollIntervalMs;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.settle-ms:2000}")
+    private long settleMs;
+
+    @Value("${app.outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${app.outbox.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    // Delivered events older than this are purged once every sink has them
+    @Value("${app.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    private final List<SinkState> states = new ArrayList<>();
+    private ScheduledExecutorService executor;
+    private long nextPurgeAt;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled || sinks.isEmpty()) {
+            logger.info("Outbox dispatcher idle: enabled={}, sinks={}", enabled, sinks.size());
+            return;
+        }
+        for (OutboxSink sink : sinks) {
+            states.add(new SinkState(sink));
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::dispatch, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private void dispatch() {
+        long now = System.currentTimeMillis();
+        for (SinkState state : states) {
+            if (now >= state.nextAttemptAt) {
+                drain(state);
+            }
+        }
+        if (now >= nextPurgeAt) {
+            nextPurgeAt = now + TimeUnit.MINUTES.toMillis(10);
+            purge();
+        }
+    }
+
+    private void drain(SinkState state) {
+        String name = state.sink.getName();
+        try {
+            if (state.offset == null) {
+                state.offset = outboxSinkOffsetRepository.findById(name)
+                    .orElseGet(() -> new OutboxSinkOffset(name, 0L));
+            }
+            List<OutboxEvent> events;
+            do {
+                LocalDateTime settledBefore = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(settleMs));
+                events = outboxEventRepository.findDeliverable(state.offset.getLastEventId(), settledBefore,
+                    PageRequest.of(0, batchSize));
+                if (events.isEmpty()) {
+                    break;
+                }
+                state.sink.deliver(events);
+                state.offset.setLastEventId(events.get(events.size() - 1).getId());
+                state.offset.setUpdatedAt(LocalDateTime.now());
+                state.offset = outboxSinkOffsetRepository.save(state.offset);
+                meterRegistry.counter("outbox.delivered", "sink", name).increment(events.size());
+            } while (events.size() == batchSize);
+            state.failures = 0;
+        } catch (Exception e) {
+            // The offset is untouched, so the same events are retried; an interrupted shutdown just stops here
+            state.failures++;
+            long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(state.failures - 1, 20));
+            state.nextAttemptAt = System.currentTimeMillis() + backoffMs;
+            state.offset = null;
+            meterRegistry.counter("outbox.delivery.failures", "sink", name).increment();
+            logger.warn("Outbox delivery to {} failed ({} in a row), retrying in {} ms",
+                name, state.failures, backoffMs, e);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void purge() {
+        try {
+            long delivered = Long.MAX_VALUE;
+            for (SinkState state : states) {
+                if (state.offset == null) {
+                    return;
+                }
+                delivered = Math.min(delivered, state.offset.getLastEventId());
+            }
+            int purged = outboxEventRepository.deleteDelivered(delivered, LocalDateTime.now().minusHours(retentionHours));
+            if (purged > 0) {
+                logger.debug("Purged {} delivered outbox events", purged);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Outbox purge failed", e);
+        }
+    }
+
+    private static final class SinkState {
+        final OutboxSink sink;
+        // Reloaded from the database after a failure, in case the failed save left it out of step
+        OutboxSinkOffset offset;
+        int failures;
+        long nextAttemptAt;
+
+        SinkState(OutboxSink sink) {
+            this.sink = sink;
+        }
+    }
+}
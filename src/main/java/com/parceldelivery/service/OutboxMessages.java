@@ -0,0 +1,24 @@
+package com.parceldelivery.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parceldelivery.model.OutboxEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Wire format shared by the outbox sinks: envelope fields plus the stored payload as a nested object
+final class OutboxMessages {
+
+    private OutboxMessages() {}
+
+    static Map<String, Object> toMessage(ObjectMapper objectMapper, OutboxEvent event) throws JsonProcessingException {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("eventId", event.getId());
+        message.put("type", event.getEventType());
+        message.put("bookingId", event.getAggregateId());
+        message.put("createdAt", event.getCreatedAt());
+        message.put("payload", objectMapper.readTree(event.getPayload()));
+        return message;
+    }
+}
@@ -0,0 +1,16 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.model.OutboxEvent;
+
+import java.util.List;
+
+// Downstream target of outbox events. Delivery is at least once: a batch that throws, or that succeeded just
+// before a crash, is delivered again, so receivers deduplicate by event ID.
+public interface OutboxSink {
+
+    // Stable name; the sink's delivery offset is stored under it
+    String getName();
+
+    // Delivers events in ID order; returns normally only once the whole batch is durably accepted
+    void deliver(List<OutboxEvent> events) throws Exception;
+}
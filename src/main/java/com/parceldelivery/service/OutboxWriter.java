@@ -0,0 +1,54 @@
+package com.parceldelivery.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parceldelivery.model.OutboxEvent;
+import com.parceldelivery.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Records every booking change in the outbox inside the transaction that made it.
+// Runs just before commit, so the row commits or rolls back with the change, and it is stamped as late as
+// possible, which keeps created_at close to commit order for the dispatcher's settle window.
+@Component
+public class OutboxWriter {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBookingChanged(BookingChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", event.bookingId());
+        payload.put("customerId", event.customerId());
+        payload.put("status", event.status());
+        payload.put("occurredAt", now);
+        outboxEventRepository.save(new OutboxEvent(eventType(event.type()), event.bookingId(), toJson(payload), now));
+    }
+
+    private static String eventType(BookingChangedEvent.ChangeType type) {
+        return switch (type) {
+            case CREATED, IMPORTED -> "BOOKING_CREATED";
+            case STATUS_CHANGED -> "BOOKING_STATUS_CHANGED";
+            case SCHEDULE_CHANGED -> "BOOKING_SCHEDULE_CHANGED";
+        };
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.parceldelivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parceldelivery.dto.RateCardDefinition;
+import com.parceldelivery.model.Booking;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Parcel service cost in fixed-point integer arithmetic against the current rate card.
+// Charges are held in paise; the tax step multiplies by (100 + taxPercent), so the total comes out in
+// ten-thousandths of a rupee with no rounding anywhere. With the bundled flat tariff this is exactly the
+// scale-4 value the former BigDecimal formula produced.
+@Component
+public class PricingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingEngine.class);
+
+    // Scale of the value returned by totalScaled: 1 rupee = 10_000 units
+    public static final int TOTAL_SCALE = 4;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.pricing.rate-card-location:classpath:rate-card.json}")
+    private String rateCardLocation;
+
+    // PIN the parcels are dispatched from; selects the origin zone of every quote
+    @Value("${app.pricing.origin-pin:110001}")
+    private String originPin;
+
+    // How often to look for a changed rate card file; 0 disables polling (classpath cards never change)
+    @Value("${app.pricing.reload-check-seconds:30}")
+    private long reloadCheckSeconds;
+
+    // Quotes read this once per call; reloads replace it with a fully compiled card, so no lock is needed
+    private volatile RateCard rateCard;
+
+    private volatile long loadedLastModified;
+    // A lock rather than synchronized: reload does file I/O, which would pin a virtual thread's carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private ScheduledExecutorService reloadChecker;
+
+    @PostConstruct
+    public void init() {
+        reload();
+        if (reloadCheckSeconds > 0 && isFileResource()) {
+            reloadChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "rate-card-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloadChecker.scheduleWithFixedDelay(this::reloadIfModified,
+                reloadCheckSeconds, reloadCheckSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reloadChecker != null) {
+            reloadChecker.shutdownNow();
+        }
+    }
+
+    // Loads and compiles the rate card, then swaps it in; on any error the current card stays in force
+    public RateCard reload() {
+        Resource resource = resourceLoader.getResource(rateCardLocation);
+        reloadLock.lock();
+        try (InputStream in = resource.getInputStream()) {
+            long lastModified = isFileResource() ? resource.lastModified() : 0;
+            RateCard compiled = RateCard.compile(objectMapper.readValue(in, RateCardDefinition.class), originPin);
+            rateCard = compiled;
+            loadedLastModified = lastModified;
+            logger.info("Rate card {} loaded from {}: {} zones, {} slabs",
+                compiled.getVersion(), rateCardLocation, compiled.getZoneCount(), compiled.getSlabCount());
+            return compiled;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read rate card " + rateCardLocation, e);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public RateCard getRateCard() {
+        return rateCard;
+    }
+
+    // Allocation-free total, in units of 10^-TOTAL_SCALE rupees
+    public long totalScaled(String destinationPin, int weightInGram, Booking.DeliveryType deliveryType,
+                            Booking.PackingPreference packingPreference, boolean bookedByOfficer) {
+        return rateCard.totalScaled(destinationPin, weightInGram, deliveryType, packingPreference, bookedByOfficer);
+    }
+
+    public BigDecimal quote(String destinationPin, int weightInGram, Booking.DeliveryType deliveryType,
+                            Booking.PackingPreference packingPreference, boolean bookedByOfficer) {
+        return BigDecimal.valueOf(
+            totalScaled(destinationPin, weightInGram, deliveryType, packingPreference, bookedByOfficer), TOTAL_SCALE);
+    }
+
+    // Total plus itemised charges in rupees, all from one card snapshot so the parts always match the total
+    public Map<String, Object> quoteWithBreakdown(String destinationPin, int weightInGram,
+                                                  Booking.DeliveryType deliveryType,
+                                                  Booking.PackingPreference packingPreference, boolean bookedByOfficer) {
+        RateCard card = rateCard;
+        Map<String, Object> breakdown = new LinkedHashMap<>();
+        breakdown.put("rateCard", card.getVersion());
+        breakdown.put("destinationZone", card.zoneName(card.zoneOf(destinationPin)));
+        breakdown.put("baseRate", rupees(card.flatPaise(destinationPin, weightInGram)));
+        breakdown.put("weightCharge", rupees(card.weightPaise(destinationPin, weightInGram)));
+        breakdown.put("deliveryCharge", rupees(card.deliveryPaise(deliveryType)));
+        breakdown.put("packingCharge", rupees(card.packingPaise(packingPreference)));
+        breakdown.put("adminFee", rupees(bookedByOfficer ? card.getOfficerAdminFeePaise() : 0));
+        breakdown.put("taxRate", card.getTaxPercent() + "%");
+
+        Map<String, Object> quote = new LinkedHashMap<>();
+        quote.put("totalCost", BigDecimal.valueOf(
+            card.totalScaled(destinationPin, weightInGram, deliveryType, packingPreference, bookedByOfficer), TOTAL_SCALE));
+        quote.put("breakdown", breakdown);
+        return quote;
+    }
+
+    private void reloadIfModified() {
+        try {
+            long lastModified = resourceLoader.getResource(rateCardLocation).lastModified();
+            if (lastModified != loadedLastModified) {
+                reload();
+            }
+        } catch (Exception e) {
+            logger.warn("Rate card reload from {} failed; keeping version {}",
+                rateCardLocation, rateCard.getVersion(), e);
+        }
+    }
+
+    private boolean isFileResource() {
+        return resourceLoader.getResource(rateCardLocation).isFile();
+    }
+
+    private static BigDecimal rupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+}
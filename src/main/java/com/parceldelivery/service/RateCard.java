@@ -0,0 +1,249 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.dto.RateCardDefinition;
+import com.parceldelivery.model.Booking;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable, compiled tariff. Every lookup on the quote path is an array index:
+// destination zone by the first three PIN digits, then (origin zone, destination zone, weight slab) into flat
+// arrays of paise. A new tariff is compiled into a new instance and swapped in whole.
+public final class RateCard {
+
+    private static final int PIN_PREFIX_SLOTS = 1000;
+
+    private final String version;
+    private final Instant compiledAt;
+    private final String[] zoneNames;
+    private final int[] zoneByPinPrefix;
+    private final int defaultZone;
+    private final int originZone;
+    private final int[] slabMaxGrams;
+    private final int slabCount;
+    private final long[] flatPaise;
+    private final long[] perGramPaise;
+    private final long[] deliveryPaise;
+    private final long[] packingPaise;
+    private final long officerAdminFeePaise;
+    private final int taxPercent;
+
+    private RateCard(String version, String[] zoneNames, int[] zoneByPinPrefix, int defaultZone, int originZone,
+                     int[] slabMaxGrams, long[] flatPaise, long[] perGramPaise, long[] deliveryPaise,
+                     long[] packingPaise, long officerAdminFeePaise, int taxPercent) {
+        this.version = version;
+        this.compiledAt = Instant.now();
+        this.zoneNames = zoneNames;
+        this.zoneByPinPrefix = zoneByPinPrefix;
+        this.defaultZone = defaultZone;
+        this.originZone = originZone;
+        this.slabMaxGrams = slabMaxGrams;
+        this.slabCount = slabMaxGrams.length + 1;
+        this.flatPaise = flatPaise;
+        this.perGramPaise = perGramPaise;
+        this.deliveryPaise = deliveryPaise;
+        this.packingPaise = packingPaise;
+        this.officerAdminFeePaise = officerAdminFeePaise;
+        this.taxPercent = taxPercent;
+    }
+
+    public long subtotalPaise(String destinationPin, int weightInGram, Booking.DeliveryType deliveryType,
+                              Booking.PackingPreference packingPreference, boolean bookedByOfficer) {
+        int cell = cell(zoneOf(destinationPin), slabOf(weightInGram));
+        return flatPaise[cell]
+            + perGramPaise[cell] * weightInGram
+            + deliveryPaise[deliveryType.ordinal()]
+            + packingPaise[packingPreference.ordinal()]
+            + (bookedByOfficer ? officerAdminFeePaise : 0);
+    }
+
+    // Total in ten-thousandths of a rupee: subtotal in paise times (100 + tax percent), exact
+    public long totalScaled(String destinationPin, int weightInGram, Booking.DeliveryType deliveryType,
+                            Booking.PackingPreference packingPreference, boolean bookedByOfficer) {
+        return subtotalPaise(destinationPin, weightInGram, deliveryType, packingPreference, bookedByOfficer)
+            * (100 + taxPercent);
+    }
+
+    public int zoneOf(String pin) {
+        return lookupZone(zoneByPinPrefix, defaultZone, pin);
+    }
+
+    public int slabOf(int weightInGram) {
+        int slab = 0;
+        while (slab < slabMaxGrams.length && weightInGram > slabMaxGrams[slab]) {
+            slab++;
+        }
+        return slab;
+    }
+
+    public long flatPaise(String destinationPin, int weightInGram) {
+        return flatPaise[cell(zoneOf(destinationPin), slabOf(weightInGram))];
+    }
+
+    public long weightPaise(String destinationPin, int weightInGram) {
+        return perGramPaise[cell(zoneOf(destinationPin), slabOf(weightInGram))] * weightInGram;
+    }
+
+    public long deliveryPaise(Booking.DeliveryType deliveryType) {
+        return deliveryPaise[deliveryType.ordinal()];
+    }
+
+    public long packingPaise(Booking.PackingPreference packingPreference) {
+        return packingPaise[packingPreference.ordinal()];
+    }
+
+    public long getOfficerAdminFeePaise() { return officerAdminFeePaise; }
+    public int getTaxPercent() { return taxPercent; }
+    public String getVersion() { return version; }
+    public Instant getCompiledAt() { return compiledAt; }
+    public int getZoneCount() { return zoneNames.length; }
+    public int getSlabCount() { return slabCount; }
+
+    public String zoneName(int zone) {
+        return zoneNames[zone];
+    }
+
+    private int cell(int destinationZone, int slab) {
+        return (originZone * zoneNames.length + destinationZone) * slabCount + slab;
+    }
+
+    // Validates a tariff definition and lays it out as lookup arrays; throws IllegalArgumentException on any gap
+    public static RateCard compile(RateCardDefinition definition, String originPin) {
+        List<RateCardDefinition.Zone> zones = requireList(definition.getZones(), "zones");
+        if (zones.isEmpty()) {
+            throw new IllegalArgumentException("Rate card defines no zones");
+        }
+        String[] zoneNames = new String[zones.size()];
+        Map<String, Integer> zoneIndex = new HashMap<>();
+        for (int i = 0; i < zones.size(); i++) {
+            zoneNames[i] = zones.get(i).getName();
+            if (zoneNames[i] == null || zoneIndex.put(zoneNames[i], i) != null) {
+                throw new IllegalArgumentException("Zone names must be present and unique: " + zoneNames[i]);
+            }
+        }
+        int defaultZone = requireZone(zoneIndex, definition.getDefaultZone());
+
+        // Expand prefixes shortest first, so a longer prefix overrides the range of a shorter one
+        int[] zoneByPinPrefix = new int[PIN_PREFIX_SLOTS];
+        Arrays.fill(zoneByPinPrefix, defaultZone);
+        List<String[]> prefixes = new ArrayList<>();
+        for (RateCardDefinition.Zone zone : zones) {
+            for (String prefix : requireList(zone.getPinPrefixes(), "pinPrefixes of zone " + zone.getName())) {
+                if (prefix == null || !prefix.matches("\\d{1,3}")) {
+                    throw new IllegalArgumentException("PIN prefix must be 1 to 3 digits: " + prefix);
+                }
+                prefixes.add(new String[] {prefix, zone.getName()});
+            }
+        }
+        prefixes.sort(Comparator.comparingInt(prefix -> prefix[0].length()));
+        for (String[] prefix : prefixes) {
+            int width = (int) Math.pow(10, 3 - prefix[0].length());
+            int start = Integer.parseInt(prefix[0]) * width;
+            Arrays.fill(zoneByPinPrefix, start, start + width, zoneIndex.get(prefix[1]));
+        }
+
+        List<Integer> slabBounds = requireList(definition.getSlabMaxGrams(), "slabMaxGrams");
+        int[] slabMaxGrams = new int[slabBounds.size()];
+        for (int i = 0; i < slabMaxGrams.length; i++) {
+            slabMaxGrams[i] = slabBounds.get(i);
+            if (slabMaxGrams[i] <= 0 || (i > 0 && slabMaxGrams[i] <= slabMaxGrams[i - 1])) {
+                throw new IllegalArgumentException("Slab bounds must be positive and ascending");
+            }
+        }
+        int slabCount = slabMaxGrams.length + 1;
+
+        int zoneCount = zoneNames.length;
+        long[] flatPaise = new long[zoneCount * zoneCount * slabCount];
+        long[] perGramPaise = new long[flatPaise.length];
+        boolean[] defined = new boolean[zoneCount * zoneCount];
+        for (RateCardDefinition.Rate rate : requireList(definition.getRates(), "rates")) {
+            int pair = requireZone(zoneIndex, rate.getFrom()) * zoneCount + requireZone(zoneIndex, rate.getTo());
+            if (defined[pair]) {
+                throw new IllegalArgumentException("Duplicate rate for " + rate.getFrom() + " -> " + rate.getTo());
+            }
+            if (requireList(rate.getFlatPaise(), "flatPaise").size() != slabCount
+                    || requireList(rate.getPerGramPaise(), "perGramPaise").size() != slabCount) {
+                throw new IllegalArgumentException("Rate " + rate.getFrom() + " -> " + rate.getTo()
+                    + " must list " + slabCount + " flat and per-gram amounts");
+            }
+            for (int slab = 0; slab < slabCount; slab++) {
+                flatPaise[pair * slabCount + slab] = requireNonNegative(rate.getFlatPaise().get(slab));
+                perGramPaise[pair * slabCount + slab] = requireNonNegative(rate.getPerGramPaise().get(slab));
+            }
+            defined[pair] = true;
+        }
+        for (int pair = 0; pair < defined.length; pair++) {
+            if (!defined[pair]) {
+                throw new IllegalArgumentException("Missing rate for " + zoneNames[pair / zoneCount]
+                    + " -> " + zoneNames[pair % zoneCount]);
+            }
+        }
+
+        long[] deliveryPaise = new long[Booking.DeliveryType.values().length];
+        for (Booking.DeliveryType type : Booking.DeliveryType.values()) {
+            deliveryPaise[type.ordinal()] = requireCharge(definition.getDeliveryPaise(), type.name());
+        }
+        long[] packingPaise = new long[Booking.PackingPreference.values().length];
+        for (Booking.PackingPreference preference : Booking.PackingPreference.values()) {
+            packingPaise[preference.ordinal()] = requireCharge(definition.getPackingPaise(), preference.name());
+        }
+        if (definition.getTaxPercent() < 0) {
+            throw new IllegalArgumentException("Tax percent must not be negative");
+        }
+
+        int originZone = lookupZone(zoneByPinPrefix, defaultZone, originPin);
+        return new RateCard(definition.getVersion(), zoneNames, zoneByPinPrefix, defaultZone, originZone,
+            slabMaxGrams, flatPaise, perGramPaise, deliveryPaise, packingPaise,
+            requireNonNegative(definition.getOfficerAdminFeePaise()), definition.getTaxPercent());
+    }
+
+    private static int lookupZone(int[] zoneByPinPrefix, int defaultZone, String pin) {
+        if (pin == null || pin.length() < 3) {
+            return defaultZone;
+        }
+        int prefix = 0;
+        for (int i = 0; i < 3; i++) {
+            int digit = pin.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return defaultZone;
+            }
+            prefix = prefix * 10 + digit;
+        }
+        return zoneByPinPrefix[prefix];
+    }
+
+    // A missing or null-laden list in the file is reported like any other gap, not as a NullPointerException
+    private static <T> List<T> requireList(List<T> values, String name) {
+        if (values == null || values.contains(null)) {
+            throw new IllegalArgumentException("Rate card " + name + " must be a list without empty entries");
+        }
+        return values;
+    }
+
+    private static int requireZone(Map<String, Integer> zoneIndex, String name) {
+        Integer zone = zoneIndex.get(name);
+        if (zone == null) {
+            throw new IllegalArgumentException("Unknown zone: " + name);
+        }
+        return zone;
+    }
+
+    private static long requireCharge(Map<String, Long> charges, String key) {
+        if (charges == null || charges.get(key) == null) {
+            throw new IllegalArgumentException("Missing charge for " + key);
+        }
+        return requireNonNegative(charges.get(key));
+    }
+
+    private static long requireNonNegative(Long paise) {
+        if (paise == null || paise < 0) {
+            throw new IllegalArgumentException("Charges must be present and not negative");
+        }
+        return paise;
+    }
+}
@@ -0,0 +1,37 @@
+package com.parceldelivery.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Actuator endpoint to see which tariff is live and to load an updated rate card without a restart
+@Component
+@Endpoint(id = "ratecard")
+public class RateCardEndpoint {
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        RateCard rateCard = pricingEngine.getRateCard();
+        Map<String, Object> status = new HashMap<>();
+        status.put("version", rateCard.getVersion());
+        status.put("compiledAt", rateCard.getCompiledAt().toString());
+        status.put("zones", rateCard.getZoneCount());
+        status.put("slabs", rateCard.getSlabCount());
+        status.put("taxPercent", rateCard.getTaxPercent());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() {
+        pricingEngine.reload();
+        return status();
+    }
+}
@@ -0,0 +1,55 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.model.User;
+import com.parceldelivery.repository.UserRepository;
+import com.parceldelivery.security.TokenRevocationList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// Officer changes to a user's role or enabled state.
+// Tokens carry the role and are trusted without a database lookup in stateless mode, so every change revokes
+// the user's outstanding tokens; the user has to log in again and gets a token with the new role.
+@Service
+public class UserAccountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAccountService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    public User updateAccess(String customerId, User.Role role, Boolean enabled, String changedBy) {
+        if (role == null && enabled == null) {
+            throw new IllegalArgumentException("Nothing to change: give a role and/or enabled");
+        }
+        if (customerId.equals(changedBy)) {
+            throw new IllegalArgumentException("Officers cannot change their own access");
+        }
+        User user = userRepository.findByCustomerId(customerId)
+            .orElseThrow(() -> new RuntimeException("User not found with customer ID: " + customerId));
+
+        boolean changed = false;
+        if (role != null && role != user.getRole()) {
+            user.setRole(role);
+            changed = true;
+        }
+        if (enabled != null && enabled != user.isEnabled()) {
+            user.setEnabled(enabled);
+            changed = true;
+        }
+        if (!changed) {
+            return user;
+        }
+
+        User savedUser = userRepository.save(user);
+        // Only after the change is committed, so a login in between cannot mint a token that survives it
+        tokenRevocationList.revoke(customerId);
+        logger.info("Access of {} changed by {}: role={}, enabled={}", customerId, changedBy,
+            savedUser.getRole(), savedUser.isEnabled());
+        return savedUser;
+    }
+}
@@ -0,0 +1,32 @@
+package com.parceldelivery.util;
+
+import java.util.Locale;
+
+// Static access point for entity @PrePersist hooks, which cannot have Spring beans injected
+public final class EntityIds {
+
+    // A positive 63-bit value is at most 13 base-36 digits, so "CUST" + 13 fits the 20 character columns
+    private static final int ENCODED_LENGTH = 13;
+
+    private static volatile IdGenerator generator = new SnowflakeIdGenerator(0);
+
+    private EntityIds() {}
+
+    public static void setGenerator(IdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+
+    public static String next(String prefix) {
+        return prefix + encode(generator.nextId());
+    }
+
+    // Zero-padded so that string order matches numeric (and therefore creation) order
+    static String encode(long id) {
+        String digits = Long.toString(id, 36).toUpperCase(Locale.ROOT);
+        StringBuilder encoded = new StringBuilder(ENCODED_LENGTH);
+        for (int i = digits.length(); i < ENCODED_LENGTH; i++) {
+            encoded.append('0');
+        }
+        return encoded.append(digits).toString();
+    }
+}
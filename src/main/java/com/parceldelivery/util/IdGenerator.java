@@ -0,0 +1,7 @@
+package com.parceldelivery.util;
+
+// Source of unique, monotonically increasing numeric IDs used for business identifiers
+public interface IdGenerator {
+
+    long nextId();
+}
@@ -0,0 +1,96 @@
+package com.parceldelivery.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class JwtVerifier {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int maxCacheSize;
+
+    // Tokens that already passed signature verification, kept until their own expiry
+    private final ConcurrentHashMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(token, cached);
+            return Optional.empty();
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            verified = new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                toMillis(claims.getIssuedAt(), 0L),
+                toMillis(claims.getExpiration(), Long.MAX_VALUE));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (verified.subject() == null || verified.isExpired(now)) {
+            return Optional.empty();
+        }
+        // Tokens without an expiry are never cached so they cannot live in memory forever
+        if (verified.expiresAtMillis() != Long.MAX_VALUE) {
+            cache(token, verified, now);
+        }
+        return Optional.of(verified);
+    }
+
+    public void evict(String token) {
+        verifiedTokens.remove(token);
+    }
+
+    public int cacheSize() {
+        return verifiedTokens.size();
+    }
+
+    private void cache(String token, VerifiedToken verified, long now) {
+        if (verifiedTokens.size() >= maxCacheSize) {
+            makeRoom(now);
+        }
+        verifiedTokens.put(token, verified);
+    }
+
+    // Drop expired tokens first; if that is not enough, drop an arbitrary tenth so live sessions
+    // do not all re-verify in the same burst
+    private void makeRoom(long now) {
+        verifiedTokens.values().removeIf(entry -> entry.isExpired(now));
+        if (verifiedTokens.size() < maxCacheSize) {
+            return;
+        }
+        int toRemove = verifiedTokens.size() - maxCacheSize + Math.max(1, maxCacheSize / 10);
+        Iterator<String> iterator = verifiedTokens.keySet().iterator();
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static long toMillis(Date date, long defaultValue) {
+        return date != null ? date.getTime() : defaultValue;
+    }
+}
@@ -0,0 +1,9 @@
+package com.parceldelivery.util;
+
+// Immutable result of a single signature/expiry check of a JWT
+public record VerifiedToken(String subject, String role, long issuedAtMillis, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,54 @@
+package com.parceldelivery.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Virtual threads when the runtime has them (Java 21+), a bounded platform pool otherwise.
+// The project compiles for Java 17, so the Java 21 API is reached reflectively.
+public final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_EXECUTOR = lookup(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+    private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+
+    private VirtualThreads() {}
+
+    public static boolean isAvailable() {
+        return NEW_VIRTUAL_EXECUTOR != null && OF_VIRTUAL != null;
+    }
+
+    // One new virtual thread per task, named <prefix>N; or a fixed pool of fallbackThreads platform threads
+    public static ExecutorService newExecutor(String namePrefix, int fallbackThreads) {
+        if (isAvailable()) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_EXECUTOR.invoke(null, virtualThreadFactory(namePrefix));
+            } catch (ReflectiveOperationException e) {
+                // fall through to platform threads
+            }
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(fallbackThreads, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Thread.ofVirtual().name(prefix, 1).factory(), called through the public Thread.Builder interface
+    public static ThreadFactory virtualThreadFactory(String namePrefix) throws ReflectiveOperationException {
+        Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+        Object builder = OF_VIRTUAL.invoke(null);
+        builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+        return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+    }
+
+    private static Method lookup(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
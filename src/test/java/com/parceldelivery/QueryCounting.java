@@ -0,0 +1,28 @@
+package com.parceldelivery;
+
+import com.parceldelivery.util.QueryCountInspector;
+
+// Counts the SQL statements Hibernate prepares on this thread while the action runs.
+// MockMvc and TransactionTemplate run on the calling thread, so their statements are all seen here.
+public final class QueryCounting {
+
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private QueryCounting() {}
+
+    public static int count(Action action) throws Exception {
+        QueryCountInspector.start();
+        try {
+            action.run();
+            int statements = QueryCountInspector.current();
+            if (statements < 0) {
+                throw new IllegalStateException("The statement count was closed while the action ran");
+            }
+            return statements;
+        } finally {
+            QueryCountInspector.stop();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.parceldelivery;
+
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.User;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Valid, unsaved entities for integration tests; every customer gets a unique e-mail address
+public final class TestData {
+
+    private TestData() {}
+
+    public static User customer() {
+        return user(User.Role.CUSTOMER);
+    }
+
+    public static User officer() {
+        return user(User.Role.OFFICER);
+    }
+
+    public static Booking booking(User customer) {
+        Booking booking = new Booking();
+        booking.setUser(customer);
+        booking.setReceiverName("Test Receiver");
+        booking.setReceiverAddress("12 Receiver Road");
+        booking.setReceiverPin("560001");
+        booking.setReceiverMobile("9876543210");
+        booking.setParcelWeightInGram(1200);
+        booking.setParcelContentsDescription("Books");
+        booking.setParcelDeliveryType(Booking.DeliveryType.STANDARD);
+        booking.setParcelPackingPreference(Booking.PackingPreference.BASIC);
+        booking.setParcelServiceCost(new BigDecimal("100.00"));
+        booking.setStatus(Booking.BookingStatus.NEW);
+        return booking;
+    }
+
+    private static User user(User.Role role) {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User("Test " + unique, unique + "@example.com", "+91", "9876543210",
+            "1 Test Street", "Secret@123", null);
+        user.setRole(role);
+        return user;
+    }
+}
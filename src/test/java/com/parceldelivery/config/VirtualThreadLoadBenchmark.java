@@ -0,0 +1,107 @@
+package com.parceldelivery.config;
+
+import com.parceldelivery.ParcelDeliverySystemApplication;
+import com.parceldelivery.TestData;
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.User;
+import com.parceldelivery.repository.BookingRepository;
+import com.parceldelivery.repository.UserRepository;
+import com.parceldelivery.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Request throughput and latency percentiles (p99 in the SampleTime table) of a database-backed listing under
+// 256 concurrent clients, with requests on platform threads and on virtual threads. Virtual threads only take
+// effect on a Java 21+ runtime; on 17 both rows measure platform threads.
+// Not part of the test run; start main() from the test classpath.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(256)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int BOOKINGS_PER_CUSTOMER = 20;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private List<HttpRequest> requests;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(ParcelDeliverySystemApplication.class)
+            .profiles("test")
+            .properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads)
+            .run();
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+
+        // Several customers, so requests spread over different rows instead of one cached listing
+        requests = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            User customer = userRepository.save(TestData.customer());
+            List<Booking> bookings = new ArrayList<>();
+            for (int j = 0; j < BOOKINGS_PER_CUSTOMER; j++) {
+                bookings.add(TestData.booking(customer));
+            }
+            bookingRepository.saveAll(bookings);
+            requests.add(HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                    + "/api/customer/bookings?size=10&count=EXACT"))
+                .header("Authorization", "Bearer " + jwtUtil.generateTokenWithRole(customer.getCustomerId(), "CUSTOMER"))
+                .build());
+        }
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listBookings() throws IOException, InterruptedException {
+        HttpRequest request = requests.get((int) (Thread.currentThread().getId() % requests.size()));
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Listing answered " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VirtualThreadLoadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+package com.parceldelivery.controller;
+
+import com.parceldelivery.QueryCounting;
+import com.parceldelivery.TestData;
+import com.parceldelivery.config.QueryBudget;
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.User;
+import com.parceldelivery.repository.BookingRepository;
+import com.parceldelivery.repository.UserRepository;
+import com.parceldelivery.security.CustomUserDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Fails the build when a booking read issues more statements than its handler's @QueryBudget, e.g. after a
+// change that loads each row's customer lazily. The runtime QueryBudgetInterceptor only logs; this is the gate.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingQueryCountTest {
+
+    // Enough rows and distinct customers on a page that a per-row or per-customer load could not hide
+    private static final int CUSTOMERS = 5;
+    private static final int BOOKINGS_PER_CUSTOMER = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User officer;
+    private final List<User> customers = new ArrayList<>();
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void createBookings() {
+        officer = userRepository.save(TestData.officer());
+        for (int i = 0; i < CUSTOMERS; i++) {
+            User customer = userRepository.save(TestData.customer());
+            customers.add(customer);
+            List<Booking> owned = new ArrayList<>();
+            for (int j = 0; j < BOOKINGS_PER_CUSTOMER; j++) {
+                owned.add(TestData.booking(customer));
+            }
+            bookings.addAll(bookingRepository.saveAll(owned));
+        }
+    }
+
+    @Test
+    void customerListingStaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/customer/bookings").param("size", "20").param("count", "EXACT"), customers.get(0));
+    }
+
+    @Test
+    void customerScrollStaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/customer/bookings/scroll").param("size", "20"), customers.get(0));
+    }
+
+    @Test
+    void officerListingStaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/officer/bookings").param("size", "20").param("count", "EXACT"), officer);
+    }
+
+    @Test
+    void officerScrollStaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/officer/bookings/scroll").param("size", "20"), officer);
+    }
+
+    @Test
+    void trackingStaysWithinBudget() throws Exception {
+        Booking booking = bookings.get(bookings.size() - 1);
+        assertWithinBudget(get("/api/common/bookings/{bookingId}", booking.getBookingId()), booking.getUser());
+        assertWithinBudget(get("/api/common/bookings/{bookingId}", booking.getBookingId()), officer);
+    }
+
+    @Test
+    void statusUpdateStaysWithinBudget() throws Exception {
+        // Enough changes that the history and outbox sequences each fetch a new block at least once
+        for (Booking booking : bookings) {
+            assertWithinBudget(put("/api/officer/bookings/{bookingId}/status", booking.getBookingId())
+                .param("status", "SCHEDULED"), officer);
+            assertWithinBudget(put("/api/officer/bookings/{bookingId}/status", booking.getBookingId())
+                .param("status", "PICKED_UP"), officer);
+            assertWithinBudget(put("/api/officer/bookings/{bookingId}/status", booking.getBookingId())
+                .param("status", "IN_TRANSIT"), officer);
+        }
+    }
+
+    @Test
+    void scheduleUpdateStaysWithinBudget() throws Exception {
+        LocalDateTime pickup = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int round = 0; round < 3; round++) {
+            for (Booking booking : bookings) {
+                assertWithinBudget(put("/api/officer/bookings/{bookingId}/schedule", booking.getBookingId())
+                    .param("pickupTime", pickup.plusHours(round).toString())
+                    .param("dropoffTime", pickup.plusHours(round + 6).toString()), officer);
+            }
+        }
+    }
+
+    private void assertWithinBudget(MockHttpServletRequestBuilder request, User caller) throws Exception {
+        CustomUserDetails principal = new CustomUserDetails(caller);
+        MvcResult[] result = new MvcResult[1];
+        int statements = QueryCounting.count(() -> result[0] = mockMvc.perform(request.with(authentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()))))
+            .andExpect(status().isOk())
+            .andReturn());
+
+        HandlerMethod handler = (HandlerMethod) result[0].getHandler();
+        QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+        assertNotNull(budget, handler.getShortLogMessage() + " has no @QueryBudget");
+        assertTrue(statements <= budget.value(), handler.getShortLogMessage() + " issued " + statements
+            + " statements, its budget is " + budget.value());
+    }
+}
@@ -0,0 +1,55 @@
+package com.parceldelivery.repository;
+
+import com.parceldelivery.QueryCounting;
+import com.parceldelivery.TestData;
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingBatchInsertTest {
+
+    private static final int BOOKINGS = 200;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void bookingInsertsAreSentAsJdbcBatches() throws Exception {
+        User customer = userRepository.save(TestData.customer());
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(TestData.booking(customer));
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int statements = QueryCounting.count(() ->
+            transaction.executeWithoutResult(status -> bookingRepository.saveAll(bookings)));
+
+        // One prepared INSERT per batch of 50 (4) plus one sequence call per block of 50 ids (at most 5,
+        // depending on where the shared sequence block stands). Row-by-row inserts would be 200 or more.
+        assertTrue(statements <= 9, "Expected batched inserts, but " + BOOKINGS + " bookings took "
+            + statements + " statements");
+        assertEquals(BOOKINGS, bookings.stream().map(Booking::getId).distinct().count());
+        assertEquals(customer.getId(), bookingRepository.findById(bookings.get(BOOKINGS - 1).getId())
+            .map(booking -> booking.getUser().getId()).orElse(null));
+    }
+}
@@ -0,0 +1,56 @@
+package com.parceldelivery.security;
+
+import com.parceldelivery.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationListTest {
+
+    private static final String CUSTOMER_ID = "CUST000000000000001";
+
+    private TokenRevocationList revocationList;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList();
+        ReflectionTestUtils.setField(revocationList, "expiration", TimeUnit.HOURS.toMillis(24));
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKey12345678901234567890123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", TimeUnit.HOURS.toMillis(24));
+        jwtUtil.init();
+    }
+
+    @Test
+    void reLoginInTheSameSecondAsTheRevocationIsAccepted() {
+        // Start right after a second boundary, so revocation and re-login share their second
+        long second = System.currentTimeMillis() / 1000;
+        while (System.currentTimeMillis() / 1000 == second) {
+            Thread.onSpinWait();
+        }
+
+        revocationList.revoke(CUSTOMER_ID);
+        String token = jwtUtil.generateTokenWithRole(CUSTOMER_ID, "CUSTOMER");
+        long issuedAtMillis = jwtUtil.extractClaim(token, Claims::getIssuedAt).getTime();
+
+        assertFalse(revocationList.isRevoked(CUSTOMER_ID, issuedAtMillis));
+    }
+
+    @Test
+    void tokensFromEarlierSecondsAreRevoked() {
+        long earlierSecond = (System.currentTimeMillis() / 1000 - 1) * 1000;
+
+        revocationList.revoke(CUSTOMER_ID);
+
+        assertTrue(revocationList.isRevoked(CUSTOMER_ID, earlierSecond));
+        assertFalse(revocationList.isRevoked("CUST000000000000002", earlierSecond));
+    }
+}
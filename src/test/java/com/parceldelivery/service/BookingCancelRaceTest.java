@@ -0,0 +1,114 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.TestData;
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.User;
+import com.parceldelivery.repository.BookingRepository;
+import com.parceldelivery.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A customer cancelling while an officer marks the parcel IN_TRANSIT: both are legal from NEW, but only one
+// may happen. The loser must re-read the winner's state through OptimisticLockRetry and be refused (400), or
+// run out of attempts and get the conflict (409); it must never overwrite the winner or add a second history row.
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingCancelRaceTest {
+
+    private static final int BOOKINGS = 100;
+    private static final int THREADS = 16;
+
+    private enum Result { APPLIED, REFUSED, CONFLICT }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void cancelAndInTransitNeverBothWin() throws Exception {
+        User customer = userRepository.save(TestData.customer());
+        User officer = userRepository.save(TestData.officer());
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(bookingRepository.save(TestData.booking(customer)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Result>> cancels = new ArrayList<>();
+            List<Future<Result>> transits = new ArrayList<>();
+            for (Booking booking : bookings) {
+                // Partners are queued next to each other, so each pair meets at its barrier and starts together
+                CyclicBarrier start = new CyclicBarrier(2);
+                String bookingId = booking.getBookingId();
+                cancels.add(executor.submit(() -> attempt(start, "Cancel booking " + bookingId,
+                    () -> bookingService.cancelBooking(bookingId, customer))));
+                transits.add(executor.submit(() -> attempt(start, "Status update of " + bookingId,
+                    () -> bookingService.updateBookingStatus(bookingId, Booking.BookingStatus.IN_TRANSIT,
+                        officer.getCustomerId()))));
+            }
+
+            for (int i = 0; i < BOOKINGS; i++) {
+                Booking booking = bookings.get(i);
+                Result cancel = cancels.get(i).get(30, TimeUnit.SECONDS);
+                Result transit = transits.get(i).get(30, TimeUnit.SECONDS);
+                String pair = booking.getBookingId() + ": cancel " + cancel + ", in transit " + transit;
+
+                assertEquals(1, (cancel == Result.APPLIED ? 1 : 0) + (transit == Result.APPLIED ? 1 : 0), pair);
+                Booking.BookingStatus expected = cancel == Result.APPLIED
+                    ? Booking.BookingStatus.CANCELLED : Booking.BookingStatus.IN_TRANSIT;
+                assertEquals(expected, bookingRepository.findByBookingId(booking.getBookingId())
+                    .map(Booking::getStatus).orElseThrow(), pair);
+                assertEquals(1L, historyRows(booking), pair);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Result attempt(CyclicBarrier start, String operation, Supplier<?> mutation) throws Exception {
+        start.await(10, TimeUnit.SECONDS);
+        try {
+            optimisticLockRetry.run(operation, mutation);
+            return Result.APPLIED;
+        } catch (OptimisticLockingFailureException e) {
+            return Result.CONFLICT;
+        } catch (RuntimeException e) {
+            return Result.REFUSED;
+        }
+    }
+
+    private long historyRows(Booking booking) {
+        return entityManager.createQuery(
+                "select count(h) from BookingStatusHistory h where h.booking.id = :id", Long.class)
+            .setParameter("id", booking.getId())
+            .getSingleResult();
+    }
+}
@@ -0,0 +1,60 @@
+package com.parceldelivery.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingCountCacheTest {
+
+    private BookingCountCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BookingCountCache();
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+    }
+
+    @Test
+    void countThatRacedAnInvalidationIsNotServed() {
+        AtomicInteger calls = new AtomicInteger();
+
+        long first = cache.getOrCompute("customer:1", () -> {
+            calls.incrementAndGet();
+            cache.invalidateAll();
+            return 5;
+        });
+        long second = cache.getOrCompute("customer:1", () -> {
+            calls.incrementAndGet();
+            return 6;
+        });
+
+        assertEquals(5, first);
+        assertEquals(6, second);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void fullCacheKeepsMostOfItsFreshEntries() {
+        for (int i = 0; i < 10; i++) {
+            cache.getOrCompute("customer:" + i, () -> 1);
+        }
+        cache.getOrCompute("customer:10", () -> 1);
+
+        AtomicInteger recounted = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            cache.getOrCompute("customer:" + i, () -> {
+                recounted.incrementAndGet();
+                return 1;
+            });
+        }
+
+        // Clearing the map on overflow would recount all ten; trimming a tenth recounts one or two
+        assertTrue(recounted.get() <= 2, recounted.get() + " of 10 fresh counts were dropped");
+    }
+}
@@ -0,0 +1,126 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.dto.BookingStatusEvent;
+import com.parceldelivery.model.Booking;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Clients whose sockets stop accepting data hold every dispatch thread in a blocking write. Everyone else must
+// still get their events and heartbeats, and the stalled clients must be disconnected once their writes return.
+// Emitters are attached to stand-in handlers in place of the servlet response; stalled ones block in send.
+class BookingEventHubTest {
+
+    private BookingEventHub hub;
+    private final CountDownLatch socketsUnblocked = new CountDownLatch(1);
+
+    @BeforeEach
+    void startHub() {
+        hub = new BookingEventHub();
+        ReflectionTestUtils.setField(hub, "bufferSize", 64);
+        ReflectionTestUtils.setField(hub, "replaySize", 100);
+        ReflectionTestUtils.setField(hub, "dispatchThreads", 2);
+        ReflectionTestUtils.setField(hub, "heartbeatSeconds", 1L);
+        ReflectionTestUtils.setField(hub, "timeoutMinutes", 0L);
+        ReflectionTestUtils.setField(hub, "writeTimeoutMs", 200L);
+        ReflectionTestUtils.setField(hub, "maxStalledWrites", 32);
+        hub.init();
+    }
+
+    @AfterEach
+    void stopHub() {
+        socketsUnblocked.countDown();
+        hub.shutdown();
+    }
+
+    @Test
+    void stalledSubscribersDoNotHoldUpTheOthers() throws Exception {
+        CountDownLatch stalledClosed = new CountDownLatch(2);
+        for (String customerId : new String[] {"CUST-STALLED-1", "CUST-STALLED-2"}) {
+            attach(hub.subscribeToCustomer(customerId, null), data -> {
+                try {
+                    socketsUnblocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, stalledClosed);
+            publish("BK-" + customerId, customerId);
+        }
+
+        BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+        attach(hub.subscribeToCustomer("CUST-HEALTHY", null), received::add, new CountDownLatch(1));
+        publish("BK-HEALTHY", "CUST-HEALTHY");
+
+        assertNotNull(poll(received, BookingStatusEvent.class::isInstance),
+            "the status event never reached the healthy client");
+        assertNotNull(poll(received, data -> data instanceof String text && text.contains("heartbeat")),
+            "no heartbeat reached the healthy client");
+
+        socketsUnblocked.countDown();
+        assertTrue(stalledClosed.await(5, TimeUnit.SECONDS), "stalled clients were not disconnected");
+    }
+
+    private void publish(String bookingId, String customerId) {
+        hub.onBookingChanged(new BookingChangedEvent(bookingId, customerId, Booking.BookingStatus.PICKED_UP,
+            BookingChangedEvent.ChangeType.STATUS_CHANGED));
+    }
+
+    // Waits for a written part that matches; an event is written as its SSE field lines followed by its data
+    private static Object poll(BlockingQueue<Object> received, Predicate<Object> match) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Object data = received.poll(100, TimeUnit.MILLISECONDS);
+            if (data != null && match.test(data)) {
+                return data;
+            }
+        }
+        return null;
+    }
+
+    private static void attach(SseEmitter emitter, Consumer<Object> socket, CountDownLatch closed) throws Exception {
+        Class<?> handlerType = Class.forName(ResponseBodyEmitter.class.getName() + "$Handler");
+        Runnable[] completion = new Runnable[1];
+        Object handler = Proxy.newProxyInstance(handlerType.getClassLoader(), new Class<?>[] {handlerType},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "send" -> {
+                        if (args[0] instanceof Set<?> parts) {
+                            for (Object part : parts) {
+                                socket.accept(((ResponseBodyEmitter.DataWithMediaType) part).getData());
+                            }
+                        } else {
+                            socket.accept(args[0]);
+                        }
+                    }
+                    case "complete", "completeWithError" -> {
+                        closed.countDown();
+                        if (completion[0] != null) {
+                            completion[0].run();
+                        }
+                    }
+                    case "onCompletion" -> completion[0] = (Runnable) args[0];
+                    default -> { }
+                }
+                return null;
+            });
+        Method initialize = ResponseBodyEmitter.class.getDeclaredMethod("initialize", handlerType);
+        initialize.setAccessible(true);
+        initialize.invoke(emitter, handler);
+    }
+}
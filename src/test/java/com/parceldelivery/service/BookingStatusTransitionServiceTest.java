@@ -0,0 +1,159 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.QueryCounting;
+import com.parceldelivery.TestData;
+import com.parceldelivery.dto.BulkStatusTransitionResult;
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.User;
+import com.parceldelivery.repository.BookingRepository;
+import com.parceldelivery.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingStatusTransitionServiceTest {
+
+    // Per-batch bound the bulk endpoint's @QueryBudget is sized from
+    private static final int MAX_STATEMENTS_PER_BATCH = 55;
+
+    @Autowired
+    private BookingStatusTransitionService transitionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void restoreRepository() {
+        useRepository(bookingRepository);
+    }
+
+    @Test
+    void reportsUpdatedInvalidAndMissingBookings() {
+        User customer = userRepository.save(TestData.customer());
+        Booking fresh = save(customer, Booking.BookingStatus.NEW);
+        Booking scheduled = save(customer, Booking.BookingStatus.SCHEDULED);
+        Booking delivered = save(customer, Booking.BookingStatus.DELIVERED);
+
+        BulkStatusTransitionResult result = transitionService.transition(List.of(fresh.getBookingId(),
+            scheduled.getBookingId(), delivered.getBookingId(), "BKMISSING"), Booking.BookingStatus.PICKED_UP, "OFFICER");
+
+        assertEquals(BulkStatusTransitionResult.Outcome.UPDATED, outcome(result, fresh.getBookingId()));
+        assertEquals(BulkStatusTransitionResult.Outcome.UPDATED, outcome(result, scheduled.getBookingId()));
+        assertEquals(BulkStatusTransitionResult.Outcome.INVALID_TRANSITION, outcome(result, delivered.getBookingId()));
+        assertEquals(BulkStatusTransitionResult.Outcome.NOT_FOUND, outcome(result, "BKMISSING"));
+        assertEquals(2, result.getUpdated());
+        assertEquals(Booking.BookingStatus.PICKED_UP, statusOf(fresh));
+        assertEquals(Booking.BookingStatus.PICKED_UP, statusOf(scheduled));
+        assertEquals(Booking.BookingStatus.DELIVERED, statusOf(delivered));
+    }
+
+    @Test
+    void reportsAConflictWhenAnotherTransactionMovesTheBookingFirst() {
+        User customer = userRepository.save(TestData.customer());
+        Booking raced = save(customer, Booking.BookingStatus.NEW);
+        Booking other = save(customer, Booking.BookingStatus.NEW);
+
+        // Between the batch's status read and its guarded UPDATE, another transaction schedules one booking
+        AtomicBoolean moved = new AtomicBoolean();
+        BookingRepository racing = (BookingRepository) Proxy.newProxyInstance(BookingRepository.class.getClassLoader(),
+            new Class<?>[] {BookingRepository.class}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(bookingRepository, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (method.getName().equals("findStatusRows") && moved.compareAndSet(false, true)) {
+                    CompletableFuture.runAsync(() -> setStatus(raced, Booking.BookingStatus.SCHEDULED)).join();
+                }
+                return result;
+            });
+        useRepository(racing);
+
+        BulkStatusTransitionResult result = transitionService.transition(
+            List.of(raced.getBookingId(), other.getBookingId()), Booking.BookingStatus.PICKED_UP, "OFFICER");
+
+        assertTrue(moved.get());
+        assertEquals(BulkStatusTransitionResult.Outcome.CONFLICT, outcome(result, raced.getBookingId()));
+        assertEquals(BulkStatusTransitionResult.Outcome.UPDATED, outcome(result, other.getBookingId()));
+        assertEquals(Booking.BookingStatus.SCHEDULED, statusOf(raced));
+        assertEquals(Booking.BookingStatus.PICKED_UP, statusOf(other));
+    }
+
+    @Test
+    void fullBatchStaysWithinThePerBatchStatementBound() throws Exception {
+        User customer = userRepository.save(TestData.customer());
+        Booking.BookingStatus[] sources = {Booking.BookingStatus.NEW, Booking.BookingStatus.SCHEDULED,
+            Booking.BookingStatus.PICKED_UP, Booking.BookingStatus.ASSIGNED, Booking.BookingStatus.BOOKED,
+            Booking.BookingStatus.IN_TRANSIT};
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Booking booking = TestData.booking(customer);
+            booking.setStatus(sources[i % sources.length]);
+            bookings.add(booking);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> bookingRepository.saveAll(bookings));
+        List<String> bookingIds = bookings.stream().map(Booking::getBookingId).toList();
+
+        BulkStatusTransitionResult[] result = new BulkStatusTransitionResult[1];
+        int statements = QueryCounting.count(() ->
+            result[0] = transitionService.transition(bookingIds, Booking.BookingStatus.DELIVERED, "OFFICER"));
+
+        assertEquals(500, result[0].getUpdated());
+        assertTrue(statements <= MAX_STATEMENTS_PER_BATCH,
+            "A batch of 500 across 6 source statuses took " + statements + " statements");
+    }
+
+    private void useRepository(BookingRepository repository) {
+        // Held as Object: passed straight through, the generic target resolves setField's Class overload
+        Object target = AopTestUtils.getUltimateTargetObject(transitionService);
+        ReflectionTestUtils.setField(target, "bookingRepository", repository);
+    }
+
+    private Booking save(User customer, Booking.BookingStatus status) {
+        Booking booking = TestData.booking(customer);
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+
+    private void setStatus(Booking booking, Booking.BookingStatus status) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(transaction ->
+            bookingRepository.findByBookingId(booking.getBookingId()).orElseThrow().setStatus(status));
+    }
+
+    private Booking.BookingStatus statusOf(Booking booking) {
+        return bookingRepository.findByBookingId(booking.getBookingId()).orElseThrow().getStatus();
+    }
+
+    private static BulkStatusTransitionResult.Outcome outcome(BulkStatusTransitionResult result, String bookingId) {
+        return result.getItems().stream()
+            .filter(item -> item.bookingId().equals(bookingId))
+            .map(BulkStatusTransitionResult.Item::outcome)
+            .findFirst()
+            .orElseThrow();
+    }
+}
@@ -0,0 +1,90 @@
+package com.parceldelivery.service;
+
+import com.parceldelivery.ParcelDeliverySystemApplication;
+import com.parceldelivery.TestData;
+import com.parceldelivery.dto.BulkStatusTransitionResult;
+import com.parceldelivery.model.Booking;
+import com.parceldelivery.model.User;
+import com.parceldelivery.repository.BookingRepository;
+import com.parceldelivery.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Wall time of one full-size bulk request: 10000 NEW bookings moved to SCHEDULED against the test profile's
+// embedded Derby. The target of 10000 transitions per second means a score at or below 1000 ms.
+// Not part of the test run; start main() from the test classpath.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BulkStatusTransitionBenchmark {
+
+    private static final int BOOKINGS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private BookingStatusTransitionService transitionService;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate transactionTemplate;
+    private User customer;
+    private List<String> bookingIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(ParcelDeliverySystemApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .run();
+        transitionService = context.getBean(BookingStatusTransitionService.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        customer = context.getBean(UserRepository.class).save(TestData.customer());
+    }
+
+    @Setup(Level.Iteration)
+    public void createBookings() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(TestData.booking(customer));
+        }
+        transactionTemplate.executeWithoutResult(status -> bookingRepository.saveAll(bookings));
+        bookingIds = bookings.stream().map(Booking::getBookingId).toList();
+    }
+
+    @Benchmark
+    public BulkStatusTransitionResult transition() {
+        return transitionService.transition(bookingIds, Booking.BookingStatus.SCHEDULED, "BENCHMARK");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BulkStatusTransitionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
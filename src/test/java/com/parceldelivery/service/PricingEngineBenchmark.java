@@ -0,0 +1,118 @@
+package com.parceldelivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parceldelivery.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Cost of pricing one booking: the former BigDecimal formula (as kept in PricingEngineTest) against the paise
+// engine's totalScaled, and quote, which adds the single BigDecimal conversion callers see.
+// Inputs cycle through a fixed set of weights, delivery types, packing preferences and channels, checked
+// against the former formula in setUp. Not part of the test run; start main() from the test classpath.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingEngineBenchmark {
+
+    private static final int INPUTS = 1024;
+    private static final String[] PINS = {"560001", "110001", "700091"};
+
+    private PricingEngine engine;
+    private final String[] pins = new String[INPUTS];
+    private final int[] weights = new int[INPUTS];
+    private final Booking.DeliveryType[] deliveryTypes = new Booking.DeliveryType[INPUTS];
+    private final Booking.PackingPreference[] packings = new Booking.PackingPreference[INPUTS];
+    private final boolean[] bookedByOfficer = new boolean[INPUTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        engine = new PricingEngine();
+        ReflectionTestUtils.setField(engine, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(engine, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(engine, "rateCardLocation", "classpath:rate-card.json");
+        ReflectionTestUtils.setField(engine, "originPin", "110001");
+        ReflectionTestUtils.setField(engine, "reloadCheckSeconds", 0L);
+        engine.init();
+
+        Random random = new Random(42);
+        Booking.DeliveryType[] allDeliveryTypes = Booking.DeliveryType.values();
+        Booking.PackingPreference[] allPackings = Booking.PackingPreference.values();
+        for (int i = 0; i < INPUTS; i++) {
+            pins[i] = PINS[i % PINS.length];
+            weights[i] = random.nextInt(50_001);
+            deliveryTypes[i] = allDeliveryTypes[random.nextInt(allDeliveryTypes.length)];
+            packings[i] = allPackings[random.nextInt(allPackings.length)];
+            bookedByOfficer[i] = random.nextBoolean();
+
+            BigDecimal legacy = legacyServiceCost(weights[i], deliveryTypes[i], packings[i], bookedByOfficer[i]);
+            BigDecimal quoted = engine.quote(pins[i], weights[i], deliveryTypes[i], packings[i], bookedByOfficer[i]);
+            if (!legacy.equals(quoted)) {
+                throw new IllegalStateException("Engine quoted " + quoted + " where the former formula gave " + legacy
+                    + " for " + weights[i] + " g, " + deliveryTypes[i] + ", " + packings[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public BigDecimal legacyBigDecimal() {
+        int i = nextInput();
+        return legacyServiceCost(weights[i], deliveryTypes[i], packings[i], bookedByOfficer[i]);
+    }
+
+    @Benchmark
+    public long totalScaled() {
+        int i = nextInput();
+        return engine.totalScaled(pins[i], weights[i], deliveryTypes[i], packings[i], bookedByOfficer[i]);
+    }
+
+    @Benchmark
+    public BigDecimal quote() {
+        int i = nextInput();
+        return engine.quote(pins[i], weights[i], deliveryTypes[i], packings[i], bookedByOfficer[i]);
+    }
+
+    private int nextInput() {
+        next = (next + 1) & (INPUTS - 1);
+        return next;
+    }
+
+    // Booking.calculateServiceCost as it was before the pricing engine
+    private static BigDecimal legacyServiceCost(int weightInGram, Booking.DeliveryType deliveryType,
+                                                Booking.PackingPreference packingPreference, boolean bookedByOfficer) {
+        BigDecimal baseRate = new BigDecimal("50");
+        BigDecimal weightCharge = new BigDecimal("0.02").multiply(new BigDecimal(weightInGram));
+        BigDecimal deliveryCharge = deliveryType.getCost();
+        BigDecimal packingCharge = packingPreference.getCost();
+        BigDecimal adminFee = bookedByOfficer ? new BigDecimal("50") : BigDecimal.ZERO;
+        BigDecimal taxRate = new BigDecimal("0.05");
+
+        BigDecimal subtotal = baseRate.add(weightCharge).add(deliveryCharge).add(packingCharge).add(adminFee);
+        BigDecimal tax = subtotal.multiply(taxRate);
+        return subtotal.add(tax);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PricingEngineBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,74 @@
+package com.parceldelivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parceldelivery.model.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The paise engine with the bundled flat tariff must reproduce the former BigDecimal formula exactly,
+// value and scale, for every weight, delivery type, packing preference and booking channel.
+class PricingEngineTest {
+
+    private static final String[] PINS = {"560001", "110001", "700091"};
+
+    private PricingEngine engine;
+
+    @BeforeEach
+    void loadBundledRateCard() {
+        engine = new PricingEngine();
+        ReflectionTestUtils.setField(engine, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(engine, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(engine, "rateCardLocation", "classpath:rate-card.json");
+        ReflectionTestUtils.setField(engine, "originPin", "110001");
+        ReflectionTestUtils.setField(engine, "reloadCheckSeconds", 0L);
+        engine.init();
+    }
+
+    @Test
+    void quotesMatchTheFormerBigDecimalTotals() {
+        int compared = 0;
+        for (int weight = 0; weight <= 50_000; weight += weight < 2_000 ? 1 : 97) {
+            for (Booking.DeliveryType deliveryType : Booking.DeliveryType.values()) {
+                for (Booking.PackingPreference packing : Booking.PackingPreference.values()) {
+                    for (boolean bookedByOfficer : new boolean[] {false, true}) {
+                        BigDecimal expected = legacyServiceCost(weight, deliveryType, packing, bookedByOfficer);
+                        String pin = PINS[compared % PINS.length];
+                        assertEquals(expected, engine.quote(pin, weight, deliveryType, packing, bookedByOfficer),
+                            weight + " g, " + deliveryType + ", " + packing + ", officer " + bookedByOfficer);
+                        compared++;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void breakdownTotalMatchesTheFormerBigDecimalTotal() {
+        Object total = engine.quoteWithBreakdown("560001", 1234, Booking.DeliveryType.EXPRESS,
+            Booking.PackingPreference.PREMIUM, true).get("totalCost");
+
+        assertEquals(legacyServiceCost(1234, Booking.DeliveryType.EXPRESS, Booking.PackingPreference.PREMIUM, true),
+            total);
+    }
+
+    // Booking.calculateServiceCost as it was before the pricing engine
+    private static BigDecimal legacyServiceCost(int weightInGram, Booking.DeliveryType deliveryType,
+                                                Booking.PackingPreference packingPreference, boolean bookedByOfficer) {
+        BigDecimal baseRate = new BigDecimal("50");
+        BigDecimal weightCharge = new BigDecimal("0.02").multiply(new BigDecimal(weightInGram));
+        BigDecimal deliveryCharge = deliveryType.getCost();
+        BigDecimal packingCharge = packingPreference.getCost();
+        BigDecimal adminFee = bookedByOfficer ? new BigDecimal("50") : BigDecimal.ZERO;
+        BigDecimal taxRate = new BigDecimal("0.05");
+
+        BigDecimal subtotal = baseRate.add(weightCharge).add(deliveryCharge).add(packingCharge).add(adminFee);
+        BigDecimal tax = subtotal.multiply(taxRate);
+        return subtotal.add(tax);
+    }
+}
@@ -0,0 +1,54 @@
+package com.parceldelivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parceldelivery.dto.RateCardDefinition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Broken tariff files must fail compilation with IllegalArgumentException, so a reload keeps the current card
+class RateCardTest {
+
+    private static final String VALID = """
+        {
+          "version": "test",
+          "zones": [ { "name": "ALL", "pinPrefixes": [] } ],
+          "defaultZone": "ALL",
+          "slabMaxGrams": [],
+          "rates": [ { "from": "ALL", "to": "ALL", "flatPaise": [5000], "perGramPaise": [2] } ],
+          "deliveryPaise": { "STANDARD": 3000, "EXPRESS": 8000, "SAME_DAY": 15000 },
+          "packingPaise": { "BASIC": 1000, "PREMIUM": 3000 },
+          "officerAdminFeePaise": 5000,
+          "taxPercent": 5
+        }
+        """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compilesAValidCard() throws Exception {
+        assertEquals("test", RateCard.compile(definition(VALID), "110001").getVersion());
+    }
+
+    @Test
+    void rejectsMissingListsWithIllegalArgumentException() throws Exception {
+        String[] broken = {
+            VALID.replace("\"pinPrefixes\": []", "\"pinPrefixes\": null"),
+            VALID.replace("\"slabMaxGrams\": []", "\"slabMaxGrams\": null"),
+            VALID.replace("\"slabMaxGrams\": []", "\"slabMaxGrams\": [null]"),
+            VALID.replaceAll("\"rates\": \\[.*\\],", "\"rates\": null,"),
+            VALID.replace("\"flatPaise\": [5000]", "\"flatPaise\": null"),
+            VALID.replace("\"perGramPaise\": [2]", "\"perGramPaise\": null"),
+            VALID.replace("\"zones\": [", "\"zones\": [ null, ")
+        };
+        for (String json : broken) {
+            RateCardDefinition definition = definition(json);
+            assertThrows(IllegalArgumentException.class, () -> RateCard.compile(definition, "110001"), json);
+        }
+    }
+
+    private RateCardDefinition definition(String json) throws Exception {
+        return objectMapper.readValue(json, RateCardDefinition.class);
+    }
+}